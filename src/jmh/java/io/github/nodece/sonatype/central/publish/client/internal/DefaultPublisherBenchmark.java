@@ -0,0 +1,93 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.client.internal;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the request building and the status parsing of {@link DefaultPublisher}, which run on every status poll.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DefaultPublisherBenchmark {
+    private URI baseUri;
+    private Map<String, String> query;
+
+    /**
+     * A status response of a deployment, each component has a PURL and, as the deployment failed, an error.
+     */
+    @State(Scope.Benchmark)
+    public static class StatusResponse {
+        @Param({"10", "1000"})
+        private int components;
+
+        private byte[] body;
+
+        @Setup
+        public void setup() {
+            StringBuilder purls = new StringBuilder();
+            StringBuilder errors = new StringBuilder();
+            for (int i = 0; i < components; i++) {
+                String purl = "\"pkg:maven/com.example/demo-" + i + "@1.0.0\"";
+                purls.append(i > 0 ? "," : "").append(purl);
+                errors.append(i > 0 ? "," : "")
+                        .append(purl)
+                        .append(":[\"Missing signature for file: demo-")
+                        .append(i)
+                        .append("-1.0.0.jar\"]");
+            }
+            body = ("{\"deploymentId\":\"28570f16-da32-4c14-bd2e-c1acc0782365\","
+                            + "\"deploymentName\":\"Deployment\",\"deploymentState\":\"FAILED\",\"purls\":[" + purls
+                            + "],\"errors\":{" + errors + "},\"cherryBomUrl\":null}")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Setup
+    public void setup() {
+        baseUri = URI.create("https://central.sonatype.com/api/v1/");
+        query = new LinkedHashMap<>();
+        query.put("id", "28570f16-da32-4c14-bd2e-c1acc0782365");
+        query.put("name", "Deployment name with spaces & symbols");
+        query.put("publishingType", "USER_MANAGED");
+    }
+
+    @Benchmark
+    public DeploymentStatus readStatus(StatusResponse response) throws IOException {
+        return DefaultPublisher.readStatus(response.body);
+    }
+
+    @Benchmark
+    public URI join() throws URISyntaxException {
+        return DefaultPublisher.join(baseUri, "publisher/status", DefaultPublisher.mapToQueryString(query));
+    }
+
+    @Benchmark
+    public String mapToQueryString() {
+        return DefaultPublisher.mapToQueryString(query);
+    }
+}
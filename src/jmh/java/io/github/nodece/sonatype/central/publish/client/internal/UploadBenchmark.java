@@ -0,0 +1,124 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.client.internal;
+
+import io.github.nodece.sonatype.central.publish.client.FakeCentralPortal;
+import io.github.nodece.sonatype.central.publish.client.api.Publisher;
+import io.github.nodece.sonatype.central.publish.client.api.PublisherConfig;
+import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
+import io.github.nodece.sonatype.central.publish.client.api.UploadSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Uploads a bundle file to an in-process {@link FakeCentralPortal}, sent as a file or read through its stream. Run it
+ * with {@code -prof gc} for the allocations, the process CPU time of each upload is reported as {@code cpuMillis}. Both
+ * include the stand-in server, which reads the body the same way in both cases. Multi-GB bundles are measured with
+ * {@code -p size=4294967296}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class UploadBenchmark {
+    @Param({"268435456"})
+    private long size;
+
+    @Param({"stream", "file"})
+    private String source;
+
+    private Path directory;
+    private UploadSource uploadSource;
+    private FakeCentralPortal portal;
+    private Publisher publisher;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CpuTime {
+        public long cpuMillis;
+        private long start;
+
+        private static long processCpuNanos() {
+            return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean())
+                    .getProcessCpuTime();
+        }
+
+        @Setup(Level.Invocation)
+        public void start() {
+            start = processCpuNanos();
+        }
+
+        @TearDown(Level.Invocation)
+        public void stop() {
+            cpuMillis += TimeUnit.NANOSECONDS.toMillis(processCpuNanos() - start);
+        }
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        directory = Files.createTempDirectory("upload-benchmark-");
+        Path file = directory.resolve("bundle.zip");
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.setLength(size);
+        }
+        UploadSource fileSource = UploadSource.of(file);
+        if ("file".equals(source)) {
+            uploadSource = fileSource;
+        } else {
+            uploadSource = new UploadSource() {
+                @Override
+                public InputStream open() throws IOException {
+                    return fileSource.open();
+                }
+
+                @Override
+                public long size() throws IOException {
+                    return fileSource.size();
+                }
+            };
+        }
+        portal = new FakeCentralPortal();
+        publisher = new DefaultPublisher();
+        publisher
+                .initialize(PublisherConfig.builder().uri(portal.getUri()).build())
+                .get();
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        publisher.close().join();
+        portal.close();
+        Files.deleteIfExists(directory.resolve("bundle.zip"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public String upload(CpuTime cpuTime) throws Exception {
+        return publisher
+                .upload("benchmark", PublishingType.AUTOMATIC, "bundle.zip", uploadSource)
+                .get();
+    }
+}
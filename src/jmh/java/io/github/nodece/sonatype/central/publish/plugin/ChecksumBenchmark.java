@@ -0,0 +1,144 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the per-algorithm read loop used before with the single-pass {@link Checksums}, the
+ * {@code readsPerFile} counter shows how many times each file is read per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChecksumBenchmark {
+    @Param({"1048576", "268435456"})
+    private long fileSize;
+
+    @Param({"md5+sha1", "md5+sha1+sha256+sha512"})
+    private String algorithms;
+
+    private Path file;
+    private Set<ChecksumAlgorithm> checksumAlgorithms;
+
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class IoCounters {
+        private long bytesRead;
+        private long operations;
+        private long fileSize;
+
+        @Setup(Level.Iteration)
+        public void reset(ChecksumBenchmark benchmark) {
+            bytesRead = 0;
+            operations = 0;
+            fileSize = benchmark.fileSize;
+        }
+
+        public double readsPerFile() {
+            return operations == 0 ? 0 : (double) bytesRead / operations / fileSize;
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        file = Files.createTempFile("checksum-benchmark-", ".jar");
+        byte[] chunk = new byte[1024 * 1024];
+        new Random(0).nextBytes(chunk);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            for (long written = 0; written < fileSize; written += chunk.length) {
+                channel.write(ByteBuffer.wrap(chunk, 0, (int) Math.min(chunk.length, fileSize - written)));
+            }
+        }
+        checksumAlgorithms = EnumSet.noneOf(ChecksumAlgorithm.class);
+        for (String algorithm : algorithms.split("\\+")) {
+            checksumAlgorithms.add(ChecksumAlgorithm.of(algorithm));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileUtils.deleteQuietly(file.toFile());
+    }
+
+    @Benchmark
+    public Object perAlgorithmLoop(IoCounters counters) throws IOException {
+        Object last = null;
+        for (ChecksumAlgorithm algorithm : checksumAlgorithms) {
+            try (CountingChannel channel = new CountingChannel(file, counters)) {
+                last = DigestUtils.digest(algorithm.newMessageDigest(), Channels.newInputStream(channel));
+            }
+        }
+        counters.operations++;
+        return last;
+    }
+
+    @Benchmark
+    public Object singlePass(IoCounters counters) throws IOException {
+        try (CountingChannel channel = new CountingChannel(file, counters)) {
+            counters.operations++;
+            return Checksums.digest(channel, checksumAlgorithms);
+        }
+    }
+
+    private static class CountingChannel implements ReadableByteChannel {
+        private final FileChannel channel;
+        private final IoCounters counters;
+
+        CountingChannel(Path file, IoCounters counters) throws IOException {
+            this.channel = FileChannel.open(file, StandardOpenOption.READ);
+            this.counters = counters;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) throws IOException {
+            int n = channel.read(dst);
+            if (n > 0) {
+                counters.bytesRead += n;
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return channel.isOpen();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
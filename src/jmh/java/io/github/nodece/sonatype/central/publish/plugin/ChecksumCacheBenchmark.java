@@ -0,0 +1,101 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares hashing the artifacts of a release with reading their checksums from a warm {@link ChecksumCache}, as a
+ * repeated release of unchanged artifacts does. Each operation loads the cache from disk like a new build.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ChecksumCacheBenchmark {
+    @Param({"20"})
+    private int files;
+
+    @Param({"1048576", "16777216"})
+    private int fileSize;
+
+    private Path directory;
+    private Path cacheDirectory;
+    private List<Path> artifacts;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("checksum-cache-benchmark-");
+        cacheDirectory = directory.resolve("cache");
+        artifacts = new ArrayList<>();
+        Random random = new Random(0);
+        byte[] content = new byte[fileSize];
+        // old enough to be cached
+        FileTime lastModified = FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(1));
+        for (int i = 0; i < files; i++) {
+            random.nextBytes(content);
+            Path file = directory.resolve("artifact-" + i + ".jar");
+            Files.write(file, content);
+            Files.setLastModifiedTime(file, lastModified);
+            artifacts.add(file);
+        }
+        ChecksumCache cache = new ChecksumCache(cacheDirectory);
+        for (Path file : artifacts) {
+            cache.digest(file, ChecksumAlgorithm.REQUIRED);
+        }
+        cache.save();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileUtils.deleteQuietly(directory.toFile());
+    }
+
+    @Benchmark
+    public Object uncached() throws IOException {
+        Object last = null;
+        for (Path file : artifacts) {
+            last = Checksums.digest(file, ChecksumAlgorithm.REQUIRED);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public Object cached() throws IOException {
+        ChecksumCache cache = new ChecksumCache(cacheDirectory);
+        Map<ChecksumAlgorithm, String> last = null;
+        for (Path file : artifacts) {
+            last = cache.digest(file, ChecksumAlgorithm.REQUIRED);
+        }
+        if (cache.getMisses() != 0) {
+            throw new IllegalStateException("Unexpected checksum cache misses: " + cache.getMisses());
+        }
+        return last;
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ZipBundle#install} on synthetic reactors of different shapes: many modules of small files, or a few
+ * modules of huge jars. Half of each jar is random and half repeats, so it compresses like a real jar with resources.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZipBundleBenchmark {
+    /**
+     * The modules and the size of their jar, {@code 500x16384} is 500 modules of a 16 KiB jar.
+     */
+    @Param({"500x16384", "4x67108864"})
+    private String shape;
+
+    @Param({"maximum", "adaptive"})
+    private String compression;
+
+    @Param({"1", "4"})
+    private int threads;
+
+    private Path directory;
+    private Path bundle;
+    private List<Artifact> artifacts;
+    private ZipBundle zipBundle;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("zip-bundle-benchmark-");
+        bundle = directory.resolve("bundle.zip");
+        String[] dimensions = shape.split("x");
+        int modules = Integer.parseInt(dimensions[0]);
+        int jarSize = Integer.parseInt(dimensions[1]);
+        Random random = new Random(0);
+        byte[] content = new byte[jarSize];
+        artifacts = new ArrayList<>();
+        for (int i = 0; i < modules; i++) {
+            random.nextBytes(content);
+            for (int j = content.length / 2; j < content.length; j++) {
+                content[j] = (byte) ('a' + j % 16);
+            }
+            Path jar = directory.resolve("demo-" + i + ".jar");
+            Files.write(jar, content);
+            Path pom = directory.resolve("demo-" + i + ".pom");
+            Files.write(pom, ("<project><artifactId>demo-" + i + "</artifactId></project>").getBytes());
+            artifacts.add(new DefaultArtifact("com.example:demo-" + i + ":jar:1.0.0").setFile(jar.toFile()));
+            artifacts.add(new DefaultArtifact("com.example:demo-" + i + ":pom:1.0.0").setFile(pom.toFile()));
+        }
+        zipBundle = ZipBundle.builder()
+                .checksumParallelism(threads)
+                .compressionThreads(threads)
+                .compressionPolicy(
+                        "adaptive".equals(compression) ? CompressionPolicy.adaptive(10 * 1024 * 1024) : CompressionPolicy.MAXIMUM)
+                .build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        FileUtils.deleteQuietly(directory.toFile());
+    }
+
+    @Benchmark
+    public long install() throws IOException {
+        zipBundle.install(artifacts, bundle);
+        return Files.size(bundle);
+    }
+}
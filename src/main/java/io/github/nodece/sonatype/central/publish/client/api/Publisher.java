@@ -13,6 +13,13 @@ public interface Publisher {
     CompletableFuture<String> upload(
             String deploymentName, PublishingType publishingType, String filename, InputStream inputStream);
 
+    /**
+     * Uploads the content of the source, the upload is retried with backoff on connection failures and server
+     * errors as long as the server may not have received the whole bundle.
+     */
+    CompletableFuture<String> upload(
+            String deploymentName, PublishingType publishingType, String filename, UploadSource source);
+
     CompletableFuture<Void> publish(String deploymentId);
 
     CompletableFuture<DeploymentStatus> status(String deploymentId);
@@ -4,7 +4,9 @@
  */
 package io.github.nodece.sonatype.central.publish.client.api;
 
+import io.github.nodece.sonatype.central.publish.util.RateLimiter;
 import java.net.URI;
+import java.time.Duration;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.ToString;
@@ -16,6 +18,86 @@ public class PublisherConfig {
     private URI uri;
     private Authentication authentication;
 
+    /**
+     * The maximum number of open connections, -1 is unlimited.
+     */
+    @Builder.Default
+    private int maxConnections = 8;
+
+    /**
+     * The maximum number of open connections to a host, -1 is unlimited.
+     */
+    @Builder.Default
+    private int maxConnectionsPerHost = 8;
+
+    /**
+     * Whether the connections are kept alive and reused between requests.
+     */
+    @Builder.Default
+    private boolean keepAlive = true;
+
+    /**
+     * How long an idle connection stays in the pool.
+     */
+    @Builder.Default
+    private Duration pooledConnectionIdleTimeout = Duration.ofMinutes(1);
+
+    /**
+     * Whether Nagle's algorithm is disabled, so the small status requests are sent without delay.
+     */
+    @Builder.Default
+    private boolean tcpNoDelay = true;
+
+    /**
+     * The size of the socket send buffer in bytes, -1 is the default of the operating system.
+     */
+    @Builder.Default
+    private int socketSendBufferSize = -1;
+
+    /**
+     * The size of the socket receive buffer in bytes, -1 is the default of the operating system.
+     */
+    @Builder.Default
+    private int socketReceiveBufferSize = -1;
+
+    /**
+     * The maximum number of retries of an upload from an {@link UploadSource}.
+     */
+    @Builder.Default
+    private int uploadMaxRetries = 3;
+
+    /**
+     * The delay before the first retry of an upload, it doubles on every retry up to {@code uploadMaxRetryDelay}.
+     */
+    @Builder.Default
+    private Duration uploadRetryDelay = Duration.ofSeconds(5);
+
+    @Builder.Default
+    private Duration uploadMaxRetryDelay = Duration.ofMinutes(1);
+
+    /**
+     * Limits the rate of the upload bodies, null is unlimited. The limiter may be shared with other transfers.
+     */
+    private RateLimiter uploadRateLimiter;
+
+    /**
+     * Receives the progress of the uploads, null is none.
+     */
+    private UploadListener uploadListener;
+
+    /**
+     * The shortest interval between two progress notifications of an upload.
+     */
+    @Builder.Default
+    private Duration uploadProgressInterval = Duration.ofSeconds(1);
+
+    /**
+     * How long an upload may send no bytes before the attempt is aborted and retried, 0 is unlimited. It does not
+     * apply once the whole body was sent and the server is processing the bundle.
+     */
+    @Builder.Default
+    private Duration uploadStallTimeout = Duration.ofMinutes(2);
+
     public URI getUri() {
         return uri == null ? URI.create("https://central.sonatype.com/api/v1/") : uri;
     }
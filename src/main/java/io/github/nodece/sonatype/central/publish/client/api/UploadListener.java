@@ -0,0 +1,23 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.client.api;
+
+/**
+ * Receives the progress of the uploads, it is called on the I/O threads of the HTTP client and must not block.
+ */
+@FunctionalInterface
+public interface UploadListener {
+    /**
+     * Called at most once per {@link PublisherConfig#getUploadProgressInterval()} while the request body is sent, and
+     * once when the whole body was sent.
+     */
+    void onProgress(UploadProgress progress);
+
+    /**
+     * Called when no bytes were sent for {@link PublisherConfig#getUploadStallTimeout()}, before the attempt is
+     * aborted.
+     */
+    default void onStall(UploadProgress progress) {}
+}
@@ -0,0 +1,47 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.client.api;
+
+import java.time.Duration;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * The progress of an upload attempt.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class UploadProgress {
+    private final String filename;
+
+    /**
+     * The number of request body bytes sent, it includes a few hundred bytes of multipart headers.
+     */
+    private final long bytesSent;
+
+    /**
+     * The size of the upload source, or -1 when it is unknown.
+     */
+    private final long totalBytes;
+
+    private final Duration elapsed;
+
+    /**
+     * The rate since the previous progress of the attempt.
+     */
+    private final double bytesPerSecond;
+
+    /**
+     * Returns the estimated time until the body is sent at the current rate, or null when it is unknown.
+     */
+    public Duration getEta() {
+        if (totalBytes < 0 || bytesPerSecond <= 0) {
+            return null;
+        }
+        return Duration.ofMillis((long) (Math.max(0, totalBytes - bytesSent) * 1000 / bytesPerSecond));
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.client.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * The content of an upload, every attempt opens a new stream so a failed upload can be retried.
+ */
+@FunctionalInterface
+public interface UploadSource {
+    InputStream open() throws IOException;
+
+    /**
+     * Returns the file of the content, or null when it is not a file. A file is sent without being read through
+     * {@link #open()}, so the HTTP client can transfer it with {@code sendfile} instead of copying it through the heap.
+     */
+    default Path file() {
+        return null;
+    }
+
+    /**
+     * Returns the size of the content, or -1 when it is not known before the content is read.
+     */
+    default long size() throws IOException {
+        return -1;
+    }
+
+    /**
+     * Called before the upload is retried, with the number of attempts made so far. A file is not opened by every
+     * attempt, so the attempts are counted here rather than in {@link #open()}.
+     */
+    default void onRetry(int attempts) {}
+
+    static UploadSource of(Path file) {
+        return new UploadSource() {
+            @Override
+            public InputStream open() throws IOException {
+                return Files.newInputStream(file);
+            }
+
+            @Override
+            public Path file() {
+                return file;
+            }
+
+            @Override
+            public long size() throws IOException {
+                return Files.size(file);
+            }
+        };
+    }
+}
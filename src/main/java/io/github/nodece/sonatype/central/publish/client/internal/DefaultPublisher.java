@@ -6,41 +6,77 @@ package io.github.nodece.sonatype.central.publish.client.internal;
 
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import dev.failsafe.Failsafe;
+import dev.failsafe.RetryPolicy;
 import io.github.nodece.sonatype.central.publish.client.api.Authentication;
 import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
 import io.github.nodece.sonatype.central.publish.client.api.Publisher;
 import io.github.nodece.sonatype.central.publish.client.api.PublisherConfig;
 import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
+import io.github.nodece.sonatype.central.publish.client.api.UploadListener;
+import io.github.nodece.sonatype.central.publish.client.api.UploadProgress;
+import io.github.nodece.sonatype.central.publish.client.api.UploadSource;
 import io.github.nodece.sonatype.central.publish.util.FutureUtils;
+import io.github.nodece.sonatype.central.publish.util.RateLimiter;
+import io.netty.util.Timeout;
+import io.netty.util.Timer;
+import io.netty.util.TimerTask;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import javax.inject.Named;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.asynchttpclient.AsyncCompletionHandlerBase;
+import org.asynchttpclient.AsyncHandler.State;
 import org.asynchttpclient.AsyncHttpClient;
 import org.asynchttpclient.BoundRequestBuilder;
-import org.asynchttpclient.DefaultAsyncHttpClient;
-import org.asynchttpclient.DefaultAsyncHttpClientConfig.Builder;
+import org.asynchttpclient.ListenableFuture;
 import org.asynchttpclient.Response;
+import org.asynchttpclient.request.body.multipart.FilePart;
 import org.asynchttpclient.request.body.multipart.InputStreamPart;
 import org.asynchttpclient.util.HttpConstants.Methods;
 
+@Slf4j
 @Named
 public class DefaultPublisher implements Publisher {
+    private final SharedHttpClients sharedHttpClients;
+    private HttpClient httpClient;
     private AsyncHttpClient asyncHttpClient;
     private PublisherConfig publisherConfig;
+    private Timer timer;
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
     static {
         objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
     }
 
+    /**
+     * Creates a publisher with its own HTTP client, it is closed with the publisher.
+     */
+    public DefaultPublisher() {
+        this(null);
+    }
+
+    /**
+     * Creates a publisher with a shared HTTP client, it stays open when the publisher is closed.
+     */
+    public DefaultPublisher(SharedHttpClients sharedHttpClients) {
+        this.sharedHttpClients = sharedHttpClients;
+    }
+
     public static URI join(URI baseUri, String pathSegment, String query) throws URISyntaxException {
         URI resolvedUri = baseUri.resolve(pathSegment);
         return new URI(
@@ -64,6 +100,15 @@ public class DefaultPublisher implements Publisher {
 
     private CompletableFuture<Response> request(
             String method, URI uri, Consumer<BoundRequestBuilder> requestBuilderConsumer) {
+        return request(method, uri, requestBuilderConsumer, new AsyncCompletionHandlerBase(), __ -> {});
+    }
+
+    private CompletableFuture<Response> request(
+            String method,
+            URI uri,
+            Consumer<BoundRequestBuilder> requestBuilderConsumer,
+            AsyncCompletionHandlerBase handler,
+            Consumer<ListenableFuture<Response>> executed) {
         BoundRequestBuilder prepare = asyncHttpClient.prepare(method, uri.toString());
         Authentication authentication = publisherConfig.getAuthentication();
         if (authentication != null) {
@@ -73,7 +118,9 @@ public class DefaultPublisher implements Publisher {
             }
         }
         requestBuilderConsumer.accept(prepare);
-        return prepare.execute().toCompletableFuture().thenCompose(n -> {
+        ListenableFuture<Response> responseFuture = prepare.execute(handler);
+        executed.accept(responseFuture);
+        return responseFuture.toCompletableFuture().thenCompose(n -> {
             CompletableFuture<Response> future = new CompletableFuture<>();
             if (n.getStatusCode() >= 200 && n.getStatusCode() < 300) {
                 future.complete(n);
@@ -86,13 +133,9 @@ public class DefaultPublisher implements Publisher {
 
     @Override
     public CompletableFuture<Void> initialize(PublisherConfig config) {
-        Builder builder = new Builder();
-        builder.setMaxConnections(1);
-        builder.setConnectTimeout(Duration.ofMinutes(1));
-        builder.setRequestTimeout(Duration.ofMinutes(30));
-        builder.setReadTimeout(Duration.ofMinutes(30));
-        builder.setMaxRequestRetry(-1);
-        asyncHttpClient = new DefaultAsyncHttpClient(builder.build());
+        httpClient = sharedHttpClients == null ? HttpClient.create(config) : sharedHttpClients.get(config);
+        asyncHttpClient = httpClient.getAsyncHttpClient();
+        timer = httpClient.getTimer();
         publisherConfig = config;
         return CompletableFuture.completedFuture(null);
     }
@@ -100,25 +143,199 @@ public class DefaultPublisher implements Publisher {
     @Override
     public CompletableFuture<String> upload(
             String deploymentName, PublishingType publishingType, String filename, InputStream inputStream) {
+        return upload(deploymentName, publishingType, filename, inputStream, null, -1, new AtomicBoolean());
+    }
+
+    @Override
+    public CompletableFuture<String> upload(
+            String deploymentName, PublishingType publishingType, String filename, UploadSource source) {
+        long size;
+        try {
+            size = source.size();
+        } catch (IOException e) {
+            return FutureUtils.failedFuture(e);
+        }
+        // a file bypasses the stream, so it is only sent as a file when the rate is not limited
+        Path file = publisherConfig.getUploadRateLimiter() == null ? source.file() : null;
+        AtomicBoolean bodySent = new AtomicBoolean();
+        RetryPolicy<String> retryPolicy = RetryPolicy.<String>builder()
+                .withBackoff(publisherConfig.getUploadRetryDelay(), publisherConfig.getUploadMaxRetryDelay())
+                .withMaxRetries(publisherConfig.getUploadMaxRetries())
+                .handleIf(throwable -> isRetryableUpload(throwable, bodySent.get()))
+                .onRetry(e -> {
+                    log.warn("Retrying upload of {}, attempt {}", filename, e.getAttemptCount(), e.getLastException());
+                    source.onRetry(e.getAttemptCount());
+                })
+                .build();
+        return Failsafe.with(retryPolicy).getStageAsync(() -> {
+            bodySent.set(false);
+            InputStream inputStream = file == null ? source.open() : null;
+            return upload(deploymentName, publishingType, filename, inputStream, file, size, bodySent)
+                    .whenComplete((__, e) -> IOUtils.closeQuietly(inputStream));
+        });
+    }
+
+    /**
+     * The Central Portal has no idempotency key for uploads, a retry is only safe when the server has not received the
+     * whole bundle. Once it was sent, even a 502, 503 or 504 of a proxy may follow a deployment created by the server.
+     */
+    static boolean isRetryableUpload(Throwable throwable, boolean bodySent) {
+        if (bodySent) {
+            return false;
+        }
+        Throwable cause = FutureUtils.unwrapCompletionException(throwable);
+        if (cause instanceof HttpResponseException) {
+            int statusCode = ((HttpResponseException) cause).getResponse().getStatusCode();
+            return statusCode >= 500 || statusCode == 429;
+        }
+        return cause instanceof IOException || cause instanceof TimeoutException;
+    }
+
+    private CompletableFuture<String> upload(
+            String deploymentName,
+            PublishingType publishingType,
+            String filename,
+            InputStream inputStream,
+            Path file,
+            long size,
+            AtomicBoolean bodySent) {
         Map<String, String> query = new HashMap<>();
         if (deploymentName != null) {
             query.put("name", deploymentName);
         }
         query.put("publishingType", publishingType.name());
+        UploadHandler handler = new UploadHandler(filename, size, bodySent);
+        RateLimiter rateLimiter = publisherConfig.getUploadRateLimiter();
+        // a stream may block while it is read, a piped bundle until it is zipped and a throttled one until the rate
+        // limiter allows, which must not happen on the event loop
+        FedMultipartBody streamBody = file == null
+                ? new FedMultipartBody(Collections.singletonList(new InputStreamPart(
+                        "bundle", rateLimiter != null ? rateLimiter.limit(inputStream) : inputStream, filename)))
+                : null;
         try {
             URI uri = join(publisherConfig.getUri(), "publisher/upload", mapToQueryString(query));
-            return request(Methods.POST, uri, n -> {
-                        n.addBodyPart(new InputStreamPart("bundle", inputStream, filename));
-                    })
-                    .thenApply(Response::getResponseBody);
+            return request(
+                            Methods.POST,
+                            uri,
+                            n -> {
+                                if (file != null) {
+                                    n.addBodyPart(new FilePart("bundle", file.toFile(), null, null, filename));
+                                } else {
+                                    streamBody.applyTo(n);
+                                }
+                            },
+                            handler,
+                            future -> {
+                                handler.start(future);
+                                if (streamBody != null) {
+                                    streamBody.start(future);
+                                }
+                            })
+                    .thenApply(Response::getResponseBody)
+                    .exceptionally(e -> {
+                        // the stalled attempt is cancelled to close its connection, it is retried as a timeout
+                        throw new CompletionException(
+                                handler.stall != null ? handler.stall : FutureUtils.unwrapCompletionException(e));
+                    });
         } catch (Exception e) {
             return FutureUtils.failedFuture(e);
         }
     }
 
+    /**
+     * Notifies the upload listener of the progress of an upload attempt, and aborts the attempt when it sends no bytes
+     * for the stall timeout. The progress callback only reads the clock until the next notification is due.
+     */
+    private class UploadHandler extends AsyncCompletionHandlerBase implements TimerTask {
+        private final String filename;
+        private final long totalBytes;
+        private final AtomicBoolean bodySent;
+        private final UploadListener listener = publisherConfig.getUploadListener();
+        private final long progressIntervalNanos =
+                publisherConfig.getUploadProgressInterval().toNanos();
+        private final long stallTimeoutNanos =
+                publisherConfig.getUploadStallTimeout().toNanos();
+        private final long start = System.nanoTime();
+        private volatile ListenableFuture<Response> future;
+        private volatile long lastWriteNanos = start;
+        private volatile long bytesSent;
+        private volatile TimeoutException stall;
+        private long notifiedNanos = start;
+        private long notifiedBytes;
+
+        UploadHandler(String filename, long totalBytes, AtomicBoolean bodySent) {
+            this.filename = filename;
+            this.totalBytes = totalBytes;
+            this.bodySent = bodySent;
+        }
+
+        void start(ListenableFuture<Response> future) {
+            this.future = future;
+            if (stallTimeoutNanos > 0) {
+                timer.newTimeout(this, stallTimeoutNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        @Override
+        public State onContentWriteProgress(long amount, long current, long total) {
+            long now = System.nanoTime();
+            lastWriteNanos = now;
+            bytesSent = current;
+            if (listener != null && now - notifiedNanos >= progressIntervalNanos) {
+                listener.onProgress(progress(now));
+            }
+            return State.CONTINUE;
+        }
+
+        @Override
+        public State onContentWritten() {
+            bodySent.set(true);
+            if (listener != null) {
+                listener.onProgress(progress(System.nanoTime()));
+            }
+            return super.onContentWritten();
+        }
+
+        private UploadProgress progress(long now) {
+            long sent = bytesSent;
+            double bytesPerSecond = now == notifiedNanos ? 0 : (sent - notifiedBytes) * 1e9 / (now - notifiedNanos);
+            notifiedNanos = now;
+            notifiedBytes = sent;
+            return new UploadProgress(filename, sent, totalBytes, Duration.ofNanos(now - start), bytesPerSecond);
+        }
+
+        @Override
+        public void run(Timeout timeout) {
+            if (bodySent.get() || future.isDone()) {
+                return;
+            }
+            long stalledNanos = System.nanoTime() - lastWriteNanos;
+            if (stalledNanos < stallTimeoutNanos) {
+                timer.newTimeout(this, stallTimeoutNanos - stalledNanos, TimeUnit.NANOSECONDS);
+                return;
+            }
+            log.warn(
+                    "Upload of {} stalled at {} bytes, no bytes were sent for {}",
+                    filename,
+                    bytesSent,
+                    Duration.ofNanos(stalledNanos));
+            if (listener != null) {
+                listener.onStall(new UploadProgress(
+                        filename, bytesSent, totalBytes, Duration.ofNanos(System.nanoTime() - start), 0));
+            }
+            stall = new TimeoutException("Upload of " + filename + " stalled");
+            future.cancel(true);
+        }
+    }
+
     @Override
     public CompletableFuture<Void> publish(String deploymentId) {
-        return null;
+        try {
+            URI uri = join(publisherConfig.getUri(), "publisher/deployment/" + deploymentId, null);
+            return request(Methods.POST, uri, __ -> {}).thenApply(__ -> null);
+        } catch (Exception e) {
+            return FutureUtils.failedFuture(e);
+        }
     }
 
     @Override
@@ -129,7 +346,7 @@ public class DefaultPublisher implements Publisher {
             URI uri = join(publisherConfig.getUri(), "publisher/status", mapToQueryString(query));
             return request(Methods.POST, uri, __ -> {}).thenApply(n -> {
                 try {
-                    return objectMapper.readValue(n.getResponseBodyAsBytes(), DeploymentStatus.class);
+                    return readStatus(n.getResponseBodyAsBytes());
                 } catch (Exception e) {
                     throw new CompletionException(e);
                 }
@@ -139,11 +356,21 @@ public class DefaultPublisher implements Publisher {
         }
     }
 
+    static DeploymentStatus readStatus(byte[] body) throws IOException {
+        return objectMapper.readValue(body, DeploymentStatus.class);
+    }
+
+    HttpClient getHttpClient() {
+        return httpClient;
+    }
+
     @Override
     public CompletableFuture<Void> close() {
         CompletableFuture<Void> future = new CompletableFuture<>();
         try {
-            asyncHttpClient.close();
+            if (sharedHttpClients == null) {
+                httpClient.close();
+            }
             future.complete(null);
         } catch (IOException e) {
             future.completeExceptionally(e);
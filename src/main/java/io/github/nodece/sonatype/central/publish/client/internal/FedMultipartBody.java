@@ -0,0 +1,103 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.client.internal;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultHttpHeaders;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import lombok.extern.slf4j.Slf4j;
+import org.asynchttpclient.BoundRequestBuilder;
+import org.asynchttpclient.ListenableFuture;
+import org.asynchttpclient.Response;
+import org.asynchttpclient.request.body.Body.BodyState;
+import org.asynchttpclient.request.body.generator.BodyChunk;
+import org.asynchttpclient.request.body.generator.QueueBasedFeedableBodyGenerator;
+import org.asynchttpclient.request.body.multipart.MultipartBody;
+import org.asynchttpclient.request.body.multipart.MultipartUtils;
+import org.asynchttpclient.request.body.multipart.Part;
+
+/**
+ * A multipart body that a thread of its own reads from the parts and feeds to the connection, so a part that blocks
+ * while it is read, such as a piped or a throttled stream, waits on that thread instead of the event loop shared by
+ * the other requests. The queue of chunks bounds the memory used when the connection is slower than the parts.
+ */
+@Slf4j
+class FedMultipartBody {
+    static final int CHUNK_SIZE = 16 * 1024;
+    static final int QUEUE_CHUNKS = 64;
+
+    private final MultipartBody body;
+    private final BlockingFeedableBodyGenerator generator = new BlockingFeedableBodyGenerator(QUEUE_CHUNKS);
+    private final Thread feeder;
+    private volatile ListenableFuture<Response> future;
+
+    FedMultipartBody(List<Part> parts) {
+        this.body = MultipartUtils.newMultipartBody(parts, new DefaultHttpHeaders());
+        this.feeder = new Thread(this::feed, "central-upload-feeder");
+        feeder.setDaemon(true);
+    }
+
+    /**
+     * Sets the body and its content type on the request. A response can complete the request before the whole body
+     * was fed, the rest of the body stays queued on the connection, so the connection is closed instead of reused.
+     */
+    void applyTo(BoundRequestBuilder requestBuilder) {
+        requestBuilder.setHeader(HttpHeaderNames.CONTENT_TYPE, body.getContentType());
+        requestBuilder.setHeader(HttpHeaderNames.CONNECTION, HttpHeaderValues.CLOSE);
+        requestBuilder.setBody(generator);
+    }
+
+    /**
+     * Starts feeding the body of the request, the feeder is interrupted when the request completes.
+     */
+    void start(ListenableFuture<Response> future) {
+        this.future = future;
+        future.toCompletableFuture().whenComplete((__, e) -> feeder.interrupt());
+        feeder.start();
+    }
+
+    private void feed() {
+        try {
+            BodyState state;
+            do {
+                ByteBuf chunk = Unpooled.buffer(CHUNK_SIZE);
+                state = body.transferTo(chunk);
+                if (chunk.isReadable() || state == BodyState.STOP) {
+                    generator.feed(chunk, state == BodyState.STOP);
+                }
+            } while (state != BodyState.STOP);
+        } catch (Exception e) {
+            // the parts fail when they are interrupted or closed by a completed request
+            if (!future.isDone()) {
+                future.abort(e);
+            } else {
+                log.debug("Stopped feeding the completed request", e);
+            }
+        } finally {
+            body.close();
+        }
+    }
+
+    /**
+     * Waits for room in the queue instead of dropping the chunk as {@code BoundedQueueFeedableBodyGenerator} does.
+     */
+    private static class BlockingFeedableBodyGenerator
+            extends QueueBasedFeedableBodyGenerator<BlockingQueue<BodyChunk>> {
+        BlockingFeedableBodyGenerator(int capacity) {
+            super(new ArrayBlockingQueue<>(capacity));
+        }
+
+        @Override
+        protected boolean offer(BodyChunk chunk) throws InterruptedException {
+            queue.put(chunk);
+            return true;
+        }
+    }
+}
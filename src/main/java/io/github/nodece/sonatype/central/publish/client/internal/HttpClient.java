@@ -0,0 +1,69 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.client.internal;
+
+import io.github.nodece.sonatype.central.publish.client.api.PublisherConfig;
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timer;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.Getter;
+import org.asynchttpclient.AsyncHttpClient;
+import org.asynchttpclient.DefaultAsyncHttpClient;
+import org.asynchttpclient.DefaultAsyncHttpClientConfig.Builder;
+
+/**
+ * The HTTP client of the publishers, with its event loop and timer.
+ */
+@Getter
+public class HttpClient implements Closeable {
+    private final AsyncHttpClient asyncHttpClient;
+
+    /**
+     * Shared with the client, it also checks the uploads for stalls.
+     */
+    private final Timer timer;
+
+    private HttpClient(AsyncHttpClient asyncHttpClient, Timer timer) {
+        this.asyncHttpClient = asyncHttpClient;
+        this.timer = timer;
+    }
+
+    /**
+     * Creates a client with the transport settings of the config.
+     */
+    public static HttpClient create(PublisherConfig config) {
+        Builder builder = new Builder();
+        builder.setMaxConnections(config.getMaxConnections());
+        builder.setMaxConnectionsPerHost(config.getMaxConnectionsPerHost());
+        builder.setKeepAlive(config.isKeepAlive());
+        builder.setPooledConnectionIdleTimeout(config.getPooledConnectionIdleTimeout());
+        builder.setTcpNoDelay(config.isTcpNoDelay());
+        builder.setSoSndBuf(config.getSocketSendBufferSize());
+        builder.setSoRcvBuf(config.getSocketReceiveBufferSize());
+        builder.setConnectTimeout(Duration.ofMinutes(1));
+        builder.setRequestTimeout(Duration.ofMinutes(30));
+        builder.setReadTimeout(Duration.ofMinutes(30));
+        builder.setMaxRequestRetry(-1);
+        Timer timer = new HashedWheelTimer(new DefaultThreadFactory("central-publisher-timer", true));
+        builder.setNettyTimer(timer);
+        return new HttpClient(new DefaultAsyncHttpClient(builder.build()), timer);
+    }
+
+    public boolean isClosed() {
+        return asyncHttpClient.isClosed();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            asyncHttpClient.close();
+        } finally {
+            timer.stop();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.client.internal;
+
+import io.github.nodece.sonatype.central.publish.client.api.PublisherConfig;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Shares the HTTP clients between the publishers with the same transport settings. A client is created by the first
+ * publisher that needs it and is only closed with {@link #close()}, closing a publisher keeps it open.
+ */
+@Slf4j
+public class SharedHttpClients implements Closeable {
+    private final Map<List<Object>, HttpClient> clients = new LinkedHashMap<>();
+    private boolean closed;
+
+    private static List<Object> key(PublisherConfig config) {
+        return Arrays.asList(
+                config.getMaxConnections(),
+                config.getMaxConnectionsPerHost(),
+                config.isKeepAlive(),
+                config.getPooledConnectionIdleTimeout(),
+                config.isTcpNoDelay(),
+                config.getSocketSendBufferSize(),
+                config.getSocketReceiveBufferSize());
+    }
+
+    public synchronized HttpClient get(PublisherConfig config) {
+        if (closed) {
+            throw new IllegalStateException("The shared HTTP clients are closed");
+        }
+        return clients.computeIfAbsent(key(config), n -> {
+            log.debug("Creating a shared HTTP client for {}", n);
+            return HttpClient.create(config);
+        });
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        closed = true;
+        IOException exception = null;
+        for (HttpClient client : clients.values()) {
+            try {
+                client.close();
+            } catch (IOException e) {
+                if (exception == null) {
+                    exception = e;
+                } else {
+                    exception.addSuppressed(e);
+                }
+            }
+        }
+        clients.clear();
+        if (exception != null) {
+            throw exception;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static io.github.nodece.sonatype.central.publish.plugin.Constants.CENTRAL_REPOSITORY_URL;
+import static io.github.nodece.sonatype.central.publish.util.FutureUtils.unwrapCompletionException;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import io.github.nodece.sonatype.central.publish.client.api.Publisher;
+import io.github.nodece.sonatype.central.publish.client.api.PublisherConfig;
+import io.github.nodece.sonatype.central.publish.client.internal.DefaultPublisher;
+import io.github.nodece.sonatype.central.publish.client.internal.SharedHttpClients;
+import io.github.nodece.sonatype.central.publish.util.DurationUtils;
+import io.github.nodece.sonatype.central.publish.util.SizeUtils;
+import java.net.URI;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.CompletableFuture;
+import javax.inject.Inject;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.settings.Server;
+import org.apache.maven.settings.crypto.DefaultSettingsDecryptionRequest;
+import org.apache.maven.settings.crypto.SettingsDecrypter;
+import org.apache.maven.settings.crypto.SettingsDecryptionResult;
+
+/**
+ * The parameters and helpers shared by the goals that talk to the Central Portal.
+ */
+@Slf4j
+public abstract class AbstractPublisherMojo extends AbstractMojo {
+
+    @Inject
+    private SettingsDecrypter settingsDecrypter;
+
+    @Parameter(defaultValue = "${session}", readonly = true, required = true)
+    protected MavenSession session;
+
+    private SystemScheduler ownScheduler;
+
+    @Parameter(name = "username")
+    private String username;
+
+    @Parameter(name = "password")
+    private String password;
+
+    @Parameter(name = "token")
+    private String token;
+
+    @Parameter(name = "url")
+    private URI url;
+
+    @Parameter(name = "serverId", defaultValue = "central")
+    protected String serverId;
+
+    /**
+     * The maximum number of concurrent connections to the Central Portal, uploads and status polls share them.
+     */
+    @Parameter(name = "maxConnections", defaultValue = "8")
+    private int maxConnections;
+
+    /**
+     * The maximum number of concurrent connections to a single host, unset is {@code maxConnections}.
+     */
+    @Parameter(name = "maxConnectionsPerHost")
+    private Integer maxConnectionsPerHost;
+
+    /**
+     * How long an idle connection stays in the pool before it is closed, for example {@code 1m}.
+     */
+    @Parameter(name = "pooledConnectionIdleTimeout", defaultValue = "1m")
+    private String pooledConnectionIdleTimeout;
+
+    /**
+     * Whether the connections to the Central Portal are kept alive and reused between requests.
+     */
+    @Parameter(name = "keepAlive", defaultValue = "true")
+    private boolean keepAlive;
+
+    /**
+     * Whether Nagle's algorithm is disabled on the connections to the Central Portal.
+     */
+    @Parameter(name = "tcpNoDelay", defaultValue = "true")
+    private boolean tcpNoDelay;
+
+    /**
+     * The size of the socket send buffer, for example {@code 4MB}, unset is the default of the operating system.
+     */
+    @Parameter(name = "socketSendBufferSize")
+    private String socketSendBufferSize;
+
+    /**
+     * The size of the socket receive buffer, for example {@code 256KB}, unset is the default of the operating system.
+     */
+    @Parameter(name = "socketReceiveBufferSize")
+    private String socketReceiveBufferSize;
+
+    /**
+     * The longest interval between two status polls of a deployment, for example {@code 30s}.
+     */
+    @Parameter(name = "statusMaxPollInterval", defaultValue = "30s")
+    private String statusMaxPollInterval;
+
+    /**
+     * How long a deployment is polled before the build fails, for example {@code 2h}, 0 is unlimited.
+     */
+    @Parameter(name = "statusTimeout", defaultValue = "2h")
+    private String statusTimeout;
+
+    protected URI getPublisherUri() {
+        return url == null ? URI.create(CENTRAL_REPOSITORY_URL) : url;
+    }
+
+    protected Server getServer() {
+        Server server = session.getSettings().getServer(serverId);
+        if (server != null) {
+            DefaultSettingsDecryptionRequest request = new DefaultSettingsDecryptionRequest(server);
+            SettingsDecryptionResult decrypt = settingsDecrypter.decrypt(request);
+            return decrypt.getServer();
+        }
+        return null;
+    }
+
+    protected PollingStrategy.PollingStrategyBuilder pollingStrategy() {
+        return PollingStrategy.builder()
+                .maxInterval(DurationUtils.parseDuration(statusMaxPollInterval))
+                .timeout(DurationUtils.parseDuration(statusTimeout));
+    }
+
+    protected PollingStrategy getPollingStrategy() {
+        return pollingStrategy().build();
+    }
+
+    /**
+     * Returns the scheduler of the status pollers. It is shared by the executions of the session when the plugin is
+     * loaded as an extension, otherwise the execution creates its own, which {@link #closeScheduler()} stops.
+     */
+    protected Scheduler getScheduler() {
+        SystemScheduler scheduler = HookDeployLifecycleParticipant.getScheduler(session);
+        if (scheduler != null) {
+            return scheduler;
+        }
+        if (ownScheduler == null) {
+            ownScheduler = new SystemScheduler();
+        }
+        return ownScheduler;
+    }
+
+    protected void closeScheduler() {
+        if (ownScheduler != null) {
+            ownScheduler.close();
+            ownScheduler = null;
+        }
+    }
+
+    protected PublisherConfig.PublisherConfigBuilder publisherConfig() {
+        return PublisherConfig.builder()
+                .uri(getPublisherUri())
+                .authentication(DefaultAuthentication.create(getServer(), username, password, token))
+                .maxConnections(maxConnections)
+                .maxConnectionsPerHost(maxConnectionsPerHost == null ? maxConnections : maxConnectionsPerHost)
+                .keepAlive(keepAlive)
+                .pooledConnectionIdleTimeout(DurationUtils.parseDuration(pooledConnectionIdleTimeout))
+                .tcpNoDelay(tcpNoDelay)
+                .socketSendBufferSize(parseBufferSize(socketSendBufferSize))
+                .socketReceiveBufferSize(parseBufferSize(socketReceiveBufferSize));
+    }
+
+    private static int parseBufferSize(String size) {
+        return size == null || size.trim().isEmpty() ? -1 : Math.toIntExact(SizeUtils.parseSize(size));
+    }
+
+    /**
+     * Creates a publisher, it shares the HTTP client of the session when the plugin is loaded as an extension.
+     */
+    protected Publisher createPublisher(PublisherConfig publisherConfig) throws Exception {
+        SharedHttpClients sharedHttpClients = HookDeployLifecycleParticipant.getSharedHttpClients(session);
+        Publisher publisher =
+                sharedHttpClients == null ? new DefaultPublisher() : new DefaultPublisher(sharedHttpClients);
+        if (log.isDebugEnabled()) {
+            log.debug("Publisher config: {}", publisherConfig);
+        }
+        log.info("Initializing publisher with url: {}", publisherConfig.getUri());
+        publisher.initialize(publisherConfig).get();
+        return publisher;
+    }
+
+    protected static void logErrors(Map<String, List<String>> errors) {
+        if (errors != null && !errors.isEmpty()) {
+            errors.forEach((key, messages) -> {
+                messages.forEach(msg -> log.error("{}: {}", key, msg));
+            });
+        }
+    }
+
+    /**
+     * Waits until every deployment completed, successfully or not.
+     */
+    protected static void awaitAll(Map<String, CompletableFuture<DeploymentStatus>> results) throws Exception {
+        CompletableFuture.allOf(results.values().toArray(new CompletableFuture<?>[0]))
+                .handle((__, e) -> null)
+                .get();
+    }
+
+    /**
+     * Logs the status of each completed deployment and the number of deployments per state, returns false when a
+     * deployment failed or its status could not be queried.
+     */
+    protected static boolean summarize(Map<String, CompletableFuture<DeploymentStatus>> results) {
+        Map<DeploymentState, Integer> states = new EnumMap<>(DeploymentState.class);
+        int unknown = 0;
+        for (Entry<String, CompletableFuture<DeploymentStatus>> entry : results.entrySet()) {
+            DeploymentStatus status;
+            try {
+                status = entry.getValue().join();
+            } catch (Exception e) {
+                Throwable cause = unwrapCompletionException(e);
+                log.error("Deployment {}: {}", entry.getKey(), cause.getMessage());
+                if (cause instanceof DeploymentTimeoutException) {
+                    DeploymentStatus lastStatus = ((DeploymentTimeoutException) cause).getLastStatus();
+                    if (lastStatus != null) {
+                        logErrors(lastStatus.getErrors());
+                    }
+                }
+                unknown++;
+                continue;
+            }
+            DeploymentState state = status == null ? null : status.getDeploymentState();
+            if (state == null) {
+                log.error("Deployment {}: no state received", entry.getKey());
+                unknown++;
+                continue;
+            }
+            states.merge(state, 1, Integer::sum);
+            if (state == DeploymentState.FAILED) {
+                log.error("Deployment {} ({}): {}", entry.getKey(), status.getDeploymentName(), state);
+                logErrors(status.getErrors());
+            } else {
+                log.info("Deployment {} ({}): {}", entry.getKey(), status.getDeploymentName(), state);
+                List<String> purls = status.getPurls();
+                if (purls != null) {
+                    purls.forEach(purl -> log.info(" - {}", purl));
+                }
+            }
+        }
+        StringBuilder summary = new StringBuilder();
+        states.forEach((state, count) ->
+                summary.append(", ").append(state).append(": ").append(count));
+        if (unknown > 0) {
+            summary.append(", UNKNOWN: ").append(unknown);
+        }
+        log.info("{} deployments{}", results.size(), summary);
+        return unknown == 0 && !states.containsKey(DeploymentState.FAILED);
+    }
+}
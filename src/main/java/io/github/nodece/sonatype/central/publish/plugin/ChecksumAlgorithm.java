@@ -0,0 +1,79 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import lombok.Getter;
+
+@Getter
+public enum ChecksumAlgorithm {
+    MD5("md5", "MD5"),
+    SHA1("sha1", "SHA-1"),
+    SHA256("sha256", "SHA-256"),
+    SHA512("sha512", "SHA-512");
+
+    /**
+     * The checksums required by the central, they are always generated.
+     */
+    public static final Set<ChecksumAlgorithm> REQUIRED = Collections.unmodifiableSet(EnumSet.of(MD5, SHA1));
+
+    private final String extension;
+    private final String digestName;
+
+    ChecksumAlgorithm(String extension, String digestName) {
+        this.extension = extension;
+        this.digestName = digestName;
+    }
+
+    public MessageDigest newMessageDigest() {
+        try {
+            return MessageDigest.getInstance(digestName);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static ChecksumAlgorithm of(String name) {
+        for (ChecksumAlgorithm algorithm : values()) {
+            if (algorithm.name().equalsIgnoreCase(name)
+                    || algorithm.extension.equalsIgnoreCase(name)
+                    || algorithm.digestName.equalsIgnoreCase(name)) {
+                return algorithm;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported checksum algorithm: " + name);
+    }
+
+    /**
+     * Resolves the configured algorithm names, the {@link #REQUIRED} algorithms are always included.
+     */
+    public static Set<ChecksumAlgorithm> of(Collection<String> names) {
+        Set<ChecksumAlgorithm> algorithms = EnumSet.copyOf(REQUIRED);
+        if (names != null) {
+            names.forEach(n -> algorithms.add(of(n.trim())));
+        }
+        return algorithms;
+    }
+
+    /**
+     * Returns true if the file is a checksum or a signature, which must not be checksummed again.
+     */
+    public static boolean isChecksumOrSignature(String fileName) {
+        if (fileName.endsWith(".asc")) {
+            return true;
+        }
+        for (ChecksumAlgorithm algorithm : values()) {
+            if (fileName.endsWith("." + algorithm.extension)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
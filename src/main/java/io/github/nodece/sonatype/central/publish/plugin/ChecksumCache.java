@@ -0,0 +1,198 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Remembers the checksums of files by their real path, size, modification time and file key, so an unchanged file is
+ * not read again by the next build. The cache is best effort, a failure to read or write it is logged and the files
+ * are hashed as if the cache was empty.
+ */
+@Slf4j
+public class ChecksumCache {
+    private static final String INDEX_FILE = "checksums.json";
+    private static final String LOCK_FILE = "checksums.lock";
+
+    /**
+     * A file modified this recently may be modified again within the resolution of its modification time without
+     * changing it, its checksums are not stored.
+     */
+    static final long MIN_AGE_MILLIS = TimeUnit.SECONDS.toMillis(2);
+
+    private static final ObjectMapper objectMapper =
+            new ObjectMapper().configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    private final Path directory;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private volatile boolean loaded;
+    private volatile boolean modified;
+
+    public ChecksumCache(Path directory) {
+        this.directory = directory;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Entry {
+        private long size;
+        private long lastModified;
+
+        /**
+         * The file key of the file system, for example the device and inode, or null when it has none.
+         */
+        private String fileKey;
+
+        private Map<ChecksumAlgorithm, String> checksums;
+
+        boolean isSameFile(long size, long lastModified, String fileKey) {
+            return this.size == size && this.lastModified == lastModified && Objects.equals(this.fileKey, fileKey);
+        }
+    }
+
+    /**
+     * Returns the checksums of the file, they are read from the cache when the file is unchanged and computed
+     * otherwise.
+     */
+    public Map<ChecksumAlgorithm, String> digest(Path file, Collection<ChecksumAlgorithm> algorithms)
+            throws IOException {
+        load();
+        Path realPath = file.toRealPath();
+        String key = realPath.toString();
+        BasicFileAttributes attributes = Files.readAttributes(realPath, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String fileKey = attributes.fileKey() != null ? attributes.fileKey().toString() : null;
+
+        Entry entry = entries.get(key);
+        if (entry != null
+                && entry.isSameFile(size, lastModified, fileKey)
+                && entry.getChecksums().keySet().containsAll(algorithms)) {
+            hits.incrementAndGet();
+            Map<ChecksumAlgorithm, String> checksums = new EnumMap<>(ChecksumAlgorithm.class);
+            for (ChecksumAlgorithm algorithm : algorithms) {
+                checksums.put(algorithm, entry.getChecksums().get(algorithm));
+            }
+            return checksums;
+        }
+
+        misses.incrementAndGet();
+        Map<ChecksumAlgorithm, String> checksums = Checksums.digest(realPath, algorithms);
+        if (System.currentTimeMillis() - lastModified >= MIN_AGE_MILLIS) {
+            Map<ChecksumAlgorithm, String> stored = new EnumMap<>(ChecksumAlgorithm.class);
+            if (entry != null && entry.isSameFile(size, lastModified, fileKey)) {
+                // keep the checksums of the other algorithms of an unchanged file
+                stored.putAll(entry.getChecksums());
+            }
+            stored.putAll(checksums);
+            entries.put(key, new Entry(size, lastModified, fileKey, stored));
+            modified = true;
+        }
+        return checksums;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    private void load() {
+        if (loaded) {
+            return;
+        }
+        synchronized (this) {
+            if (loaded) {
+                return;
+            }
+            try {
+                withLock(index -> {
+                    entries.putAll(index);
+                    return false;
+                });
+            } catch (IOException e) {
+                log.warn("Failed to read the checksum cache {}", directory, e);
+            }
+            loaded = true;
+        }
+    }
+
+    /**
+     * Writes the checksums computed since the cache was loaded, the entries written by concurrent builds in the
+     * meantime are kept, and the entries of files that no longer exist are dropped.
+     */
+    public synchronized void save() {
+        if (!modified) {
+            return;
+        }
+        try {
+            withLock(index -> {
+                index.putAll(entries);
+                index.keySet().removeIf(n -> !Files.isRegularFile(Paths.get(n)));
+                return true;
+            });
+            modified = false;
+        } catch (IOException e) {
+            log.warn("Failed to update the checksum cache {}", directory, e);
+        }
+    }
+
+    private interface IndexUpdate {
+        /**
+         * Updates the index, returns true when it is written back.
+         */
+        boolean apply(Map<String, Entry> index);
+    }
+
+    private void withLock(IndexUpdate update) throws IOException {
+        Files.createDirectories(directory);
+        Path indexFile = directory.resolve(INDEX_FILE);
+        try (FileChannel lockChannel =
+                FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = lockChannel.lock();
+            try {
+                Map<String, Entry> index = Files.isRegularFile(indexFile)
+                        ? objectMapper.readValue(indexFile.toFile(), new TypeReference<TreeMap<String, Entry>>() {})
+                        : new TreeMap<>();
+                if (update.apply(index)) {
+                    Path tempFile = Files.createTempFile(directory, INDEX_FILE, ".tmp");
+                    objectMapper.writeValue(tempFile.toFile(), index);
+                    Files.move(
+                            tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+            } finally {
+                lock.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.maven.execution.MavenSession;
+
+/**
+ * Computes the checksums of the artifacts of each module in the background as soon as the module runs the publish
+ * goal, so with a parallel build the module that publishes the reactor only assembles and uploads the bundle.
+ */
+@Slf4j
+public class ChecksumPrecomputer {
+    private static final String KEY = ChecksumPrecomputer.class.getName();
+
+    private final ExecutorService executor;
+    private final ChecksumCache checksumCache;
+    private final Map<Path, Precomputed> checksums = new ConcurrentHashMap<>();
+
+    ChecksumPrecomputer(int threads, ChecksumCache checksumCache) {
+        AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "central-checksum-precomputer-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.checksumCache = checksumCache;
+    }
+
+    /**
+     * Returns the precomputer of the session, it is created by the first module with the given number of threads and
+     * checksum cache.
+     */
+    public static ChecksumPrecomputer get(MavenSession session, int threads, ChecksumCache checksumCache) {
+        return (ChecksumPrecomputer) session.getRepositorySession()
+                .getData()
+                .computeIfAbsent(KEY, () -> new ChecksumPrecomputer(threads, checksumCache));
+    }
+
+    /**
+     * Shuts down the precomputer of the session if one was created, the lifecycle participant calls it at the end of
+     * the session so the threads do not outlive a build that failed before the publishing module ran.
+     */
+    static void shutdown(MavenSession session) {
+        ChecksumPrecomputer precomputer =
+                (ChecksumPrecomputer) session.getRepositorySession().getData().get(KEY);
+        if (precomputer != null) {
+            session.getRepositorySession().getData().set(KEY, null);
+            precomputer.shutdown();
+        }
+    }
+
+    private static class Precomputed {
+        private final long size;
+        private final long lastModified;
+        private final Set<ChecksumAlgorithm> algorithms;
+        private final Future<Map<ChecksumAlgorithm, String>> checksums;
+
+        Precomputed(
+                BasicFileAttributes attributes,
+                Set<ChecksumAlgorithm> algorithms,
+                Future<Map<ChecksumAlgorithm, String>> checksums) {
+            this.size = attributes.size();
+            this.lastModified = attributes.lastModifiedTime().toMillis();
+            this.algorithms = algorithms;
+            this.checksums = checksums;
+        }
+    }
+
+    public ChecksumCache getChecksumCache() {
+        return checksumCache;
+    }
+
+    /**
+     * Starts computing the checksums of the files, a file that is already submitted is skipped.
+     */
+    public void submit(Collection<Path> files, Collection<ChecksumAlgorithm> algorithms) throws IOException {
+        Set<ChecksumAlgorithm> checksumAlgorithms = EnumSet.copyOf(algorithms);
+        for (Path file : files) {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            checksums.computeIfAbsent(
+                    file,
+                    n -> new Precomputed(
+                            attributes,
+                            checksumAlgorithms,
+                            executor.submit(() -> checksumCache != null
+                                    ? checksumCache.digest(n, checksumAlgorithms)
+                                    : Checksums.digest(n, checksumAlgorithms))));
+        }
+    }
+
+    /**
+     * Waits for the precomputed checksums of the file, returns null when they were not submitted, do not cover the
+     * algorithms, failed, or the file has changed since.
+     */
+    public Map<ChecksumAlgorithm, String> get(Path file, Collection<ChecksumAlgorithm> algorithms) throws IOException {
+        Precomputed precomputed = checksums.get(file);
+        if (precomputed == null || !precomputed.algorithms.containsAll(algorithms)) {
+            return null;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        if (attributes.size() != precomputed.size
+                || attributes.lastModifiedTime().toMillis() != precomputed.lastModified) {
+            log.debug("{} has changed since its checksums were computed", file);
+            return null;
+        }
+        Map<ChecksumAlgorithm, String> result;
+        try {
+            result = precomputed.checksums.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the checksums of " + file);
+        } catch (ExecutionException e) {
+            log.debug("Failed to precompute the checksums of {}", file, e.getCause());
+            return null;
+        }
+        Map<ChecksumAlgorithm, String> checksums = new EnumMap<>(ChecksumAlgorithm.class);
+        for (ChecksumAlgorithm algorithm : algorithms) {
+            checksums.put(algorithm, result.get(algorithm));
+        }
+        return checksums;
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.apache.commons.codec.binary.Hex;
+
+/**
+ * Computes several checksums of a file in a single read, all digests are fed from the same buffer.
+ */
+public class Checksums {
+    private static final int BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<ByteBuffer> buffers =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(BUFFER_SIZE));
+
+    public static Map<ChecksumAlgorithm, String> digest(Path file, Collection<ChecksumAlgorithm> algorithms)
+            throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return digest(channel, algorithms);
+        }
+    }
+
+    public static Map<ChecksumAlgorithm, String> digest(
+            ReadableByteChannel channel, Collection<ChecksumAlgorithm> algorithms) throws IOException {
+        Map<ChecksumAlgorithm, MessageDigest> digests = new EnumMap<>(ChecksumAlgorithm.class);
+        algorithms.forEach(n -> digests.put(n, n.newMessageDigest()));
+        ByteBuffer buffer = buffers.get();
+        buffer.clear();
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            for (MessageDigest digest : digests.values()) {
+                buffer.rewind();
+                digest.update(buffer);
+            }
+            buffer.clear();
+        }
+        Map<ChecksumAlgorithm, String> result = new EnumMap<>(ChecksumAlgorithm.class);
+        for (Entry<ChecksumAlgorithm, MessageDigest> entry : digests.entrySet()) {
+            result.put(entry.getKey(), Hex.encodeHexString(entry.getValue().digest()));
+        }
+        return result;
+    }
+}
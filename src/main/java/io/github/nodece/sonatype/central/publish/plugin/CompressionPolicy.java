@@ -0,0 +1,187 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.Deflater;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Decides how each bundle entry is compressed. The default policy deflates every entry with the best compression, the
+ * {@link #adaptive(long) adaptive} policy optimizes the time until the upload completes instead of the bundle size.
+ */
+@Slf4j
+@Getter
+@Builder
+@ToString
+public class CompressionPolicy {
+    public static final CompressionPolicy MAXIMUM = builder().build();
+
+    /**
+     * Chooses the deflate level from the measured compression throughput and the upload bandwidth.
+     */
+    public static final int AUTO_LEVEL = -2;
+
+    static final int SAMPLE_SIZE = 4 * 1024 * 1024;
+    private static final int SAMPLE_SIZE_PER_FILE = 512 * 1024;
+    private static final int[] CANDIDATE_LEVELS = {1, 3, 6, 9};
+
+    private static final Set<String> COMPRESSED_EXTENSIONS = new HashSet<>(Arrays.asList(
+            "jar", "war", "ear", "aar", "apk", "zip", "nupkg", "gz", "tgz", "bz2", "tbz2", "xz", "txz", "zst", "lz4",
+            "7z", "rar", "png", "jpg", "jpeg", "gif", "webp"));
+
+    private static final byte[][] COMPRESSED_MAGIC_BYTES = {
+        {0x50, 0x4b, 0x03, 0x04}, // zip, jar
+        {0x1f, (byte) 0x8b}, // gzip
+        {0x42, 0x5a, 0x68}, // bzip2
+        {(byte) 0xfd, 0x37, 0x7a, 0x58, 0x5a, 0x00}, // xz
+        {0x28, (byte) 0xb5, 0x2f, (byte) 0xfd}, // zstd
+        {0x37, 0x7a, (byte) 0xbc, (byte) 0xaf, 0x27, 0x1c}, // 7z
+    };
+
+    /**
+     * Stores the entries whose content is already compressed instead of deflating them again.
+     */
+    @Builder.Default
+    private final boolean storeCompressedEntries = false;
+
+    /**
+     * The deflate level of the other entries, or {@link #AUTO_LEVEL}.
+     */
+    @Builder.Default
+    private final int level = Deflater.BEST_COMPRESSION;
+
+    /**
+     * The expected upload bandwidth in bytes per second, used by {@link #AUTO_LEVEL}.
+     */
+    @Builder.Default
+    private final long uploadBandwidth = 10 * 1024 * 1024;
+
+    public static CompressionPolicy adaptive(long uploadBandwidth) {
+        return builder()
+                .storeCompressedEntries(true)
+                .level(AUTO_LEVEL)
+                .uploadBandwidth(uploadBandwidth)
+                .build();
+    }
+
+    /**
+     * Returns true if the file content is already compressed, detected by the extension or the magic bytes.
+     */
+    public static boolean isCompressed(String name, Path file) throws IOException {
+        int dot = name.lastIndexOf('.');
+        if (dot >= 0 && COMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT))) {
+            return true;
+        }
+        byte[] header = new byte[6];
+        int n;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            n = inputStream.read(header);
+        }
+        for (byte[] magic : COMPRESSED_MAGIC_BYTES) {
+            if (n >= magic.length && startsWith(header, magic)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean startsWith(byte[] bytes, byte[] prefix) {
+        for (int i = 0; i < prefix.length; i++) {
+            if (bytes[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the entry is stored without compression.
+     */
+    public boolean isStored(String name, Path file) throws IOException {
+        return storeCompressedEntries && isCompressed(name, file);
+    }
+
+    /**
+     * Chooses the level of the compressible files. With {@link #AUTO_LEVEL}, a sample of the files is compressed with
+     * each candidate level, and the level with the shortest compression time plus upload time is returned.
+     */
+    public int chooseLevel(Collection<Path> files, int threads) throws IOException {
+        if (level != AUTO_LEVEL) {
+            return level;
+        }
+        byte[] sample = readSample(files);
+        if (sample.length == 0) {
+            return Deflater.DEFAULT_COMPRESSION;
+        }
+        // Warms up the deflater, so the first measured level is not penalized.
+        deflate(sample, CANDIDATE_LEVELS[0]);
+        int bestLevel = Deflater.BEST_COMPRESSION;
+        double bestSeconds = Double.MAX_VALUE;
+        for (int candidate : CANDIDATE_LEVELS) {
+            long start = System.nanoTime();
+            long compressedSize = deflate(sample, candidate);
+            double compressSeconds = (System.nanoTime() - start) / 1e9 / Math.max(1, threads);
+            double uploadSeconds = (double) compressedSize / uploadBandwidth;
+            double seconds = compressSeconds + uploadSeconds;
+            log.debug(
+                    "Deflate level {}: ratio {}, {}s to compress and {}s to upload the sample",
+                    candidate,
+                    String.format("%.3f", (double) compressedSize / sample.length),
+                    String.format("%.4f", compressSeconds),
+                    String.format("%.4f", uploadSeconds));
+            if (seconds < bestSeconds) {
+                bestSeconds = seconds;
+                bestLevel = candidate;
+            }
+        }
+        return bestLevel;
+    }
+
+    private static byte[] readSample(Collection<Path> files) throws IOException {
+        ByteArrayOutputStream sample = new ByteArrayOutputStream();
+        byte[] buffer = new byte[SAMPLE_SIZE_PER_FILE];
+        for (Path file : files) {
+            if (sample.size() >= SAMPLE_SIZE) {
+                break;
+            }
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                int n = inputStream.read(buffer, 0, Math.min(buffer.length, SAMPLE_SIZE - sample.size()));
+                if (n > 0) {
+                    sample.write(buffer, 0, n);
+                }
+            }
+        }
+        return sample.toByteArray();
+    }
+
+    private static long deflate(byte[] sample, int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            deflater.setInput(sample);
+            deflater.finish();
+            byte[] buffer = new byte[64 * 1024];
+            long size = 0;
+            while (!deflater.finished()) {
+                size += deflater.deflate(buffer);
+            }
+            return size;
+        } finally {
+            deflater.end();
+        }
+    }
+}
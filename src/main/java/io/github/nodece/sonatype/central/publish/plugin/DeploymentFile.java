@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The deployments uploaded in detached mode, the wait goal reads them to resume polling.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DeploymentFile {
+    /**
+     * The location of the file relative to the build directory of the top level project.
+     */
+    public static final String PATH = "central-publish/deployment.json";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private List<Deployment> deployments = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Deployment {
+        private String deploymentId;
+        private String deploymentName;
+        private PublishingType publishingType;
+
+        /**
+         * The state that completes the deployment, {@code VALIDATED} for the {@code USER_MANAGED} deployments.
+         */
+        private DeploymentState targetState;
+
+        private String bundle;
+        private String uploadedAt;
+    }
+
+    public static DeploymentFile read(Path file) throws IOException {
+        return objectMapper.readValue(file.toFile(), DeploymentFile.class);
+    }
+
+    public void write(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        objectMapper.writeValue(file.toFile(), this);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * A local check of a validated deployment before it is published.
+ */
+@FunctionalInterface
+public interface DeploymentGate {
+    DeploymentGate NONE = status -> Collections.emptyList();
+
+    /**
+     * Returns the reasons why the deployment must not be published, it is empty when the deployment can be published.
+     */
+    List<String> check(DeploymentStatus status);
+
+    /**
+     * Checks that the validated deployment contains a PURL for each component of the artifacts.
+     */
+    static DeploymentGate expectedPurls(Collection<Artifact> artifacts) {
+        Set<String> expected = new LinkedHashSet<>();
+        for (Artifact artifact : artifacts) {
+            expected.add("pkg:maven/" + artifact.getGroupId() + "/" + artifact.getArtifactId() + "@"
+                    + artifact.getVersion());
+        }
+        return status -> {
+            List<String> problems = new ArrayList<>();
+            List<String> purls = status.getPurls() == null ? Collections.emptyList() : status.getPurls();
+            for (String purl : expected) {
+                if (!purls.contains(purl)) {
+                    problems.add("Missing " + purl);
+                }
+            }
+            return problems;
+        };
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static io.github.nodece.sonatype.central.publish.util.FutureUtils.unwrapCompletionException;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import io.github.nodece.sonatype.central.publish.client.api.Publisher;
+import io.github.nodece.sonatype.central.publish.client.internal.HttpResponseException;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+import java.util.function.DoubleSupplier;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Polls the status of deployments on a {@link Scheduler} until they reach a final state, no thread is blocked
+ * between the polls.
+ */
+@Slf4j
+public class DeploymentPoller {
+    private final Publisher publisher;
+    private final PollingStrategy pollingStrategy;
+    private final Scheduler scheduler;
+    private final DoubleSupplier random;
+
+    public DeploymentPoller(Publisher publisher, PollingStrategy pollingStrategy, Scheduler scheduler) {
+        this(publisher, pollingStrategy, scheduler, () -> ThreadLocalRandom.current()
+                .nextDouble());
+    }
+
+    DeploymentPoller(Publisher publisher, PollingStrategy pollingStrategy, Scheduler scheduler, DoubleSupplier random) {
+        this.publisher = publisher;
+        this.pollingStrategy = pollingStrategy;
+        this.scheduler = scheduler;
+        this.random = random;
+    }
+
+    /**
+     * Polls the deployment until it reaches the target state, {@code PUBLISHED} or {@code FAILED}. The future fails
+     * with a {@link DeploymentTimeoutException} when the timeout of the polling strategy expires first.
+     */
+    public CompletableFuture<DeploymentStatus> poll(String deploymentId, DeploymentState targetState) {
+        CompletableFuture<DeploymentStatus> result = new CompletableFuture<>();
+        long deadline = pollingStrategy.hasTimeout()
+                ? scheduler.nanoTime() + pollingStrategy.getTimeout().toNanos()
+                : Long.MAX_VALUE;
+        scheduler.schedule(new Poll(deploymentId, targetState, deadline, result), pollingStrategy.getInitialDelay());
+        return result;
+    }
+
+    private static boolean isRetryable(Throwable cause) {
+        if (cause instanceof HttpResponseException) {
+            int statusCode = ((HttpResponseException) cause).getResponse().getStatusCode();
+            return !(statusCode == 404 || statusCode == 401 || statusCode == 403);
+        }
+        return cause instanceof IOException || cause instanceof TimeoutException;
+    }
+
+    private class Poll implements Runnable {
+        private final String deploymentId;
+        private final DeploymentState targetState;
+        private final long deadline;
+        private final CompletableFuture<DeploymentStatus> result;
+        private DeploymentStatus lastStatus;
+        private DeploymentState lastState;
+        private int polls;
+
+        Poll(
+                String deploymentId,
+                DeploymentState targetState,
+                long deadline,
+                CompletableFuture<DeploymentStatus> result) {
+            this.deploymentId = deploymentId;
+            this.targetState = targetState;
+            this.deadline = deadline;
+            this.result = result;
+        }
+
+        @Override
+        public void run() {
+            CompletableFuture<DeploymentStatus> status;
+            try {
+                status = publisher.status(deploymentId);
+            } catch (Throwable e) {
+                onFailure(e);
+                return;
+            }
+            status.whenComplete((res, e) -> {
+                if (e != null) {
+                    onFailure(e);
+                } else {
+                    onStatus(res);
+                }
+            });
+        }
+
+        private void onStatus(DeploymentStatus status) {
+            if (log.isDebugEnabled()) {
+                log.debug("Received deployment status: {}", status);
+            }
+            if (status == null) {
+                scheduleNext(lastState);
+                return;
+            }
+            lastStatus = status;
+            DeploymentState state = status.getDeploymentState();
+            if (state == DeploymentState.FAILED || state == DeploymentState.PUBLISHED || state == targetState) {
+                result.complete(status);
+            } else {
+                scheduleNext(state);
+            }
+        }
+
+        private void onFailure(Throwable throwable) {
+            if (log.isDebugEnabled()) {
+                log.debug("Failed to get deployment status for {}", deploymentId, throwable);
+            }
+            Throwable cause = unwrapCompletionException(throwable);
+            if (isRetryable(cause)) {
+                scheduleNext(lastState);
+                return;
+            }
+            if (cause instanceof HttpResponseException) {
+                log.error(
+                        "Deployment {} failed with status code: {}",
+                        deploymentId,
+                        ((HttpResponseException) cause).getResponse().getStatusCode(),
+                        cause);
+            }
+            result.completeExceptionally(cause);
+        }
+
+        private void scheduleNext(DeploymentState state) {
+            if (state != lastState) {
+                lastState = state;
+                polls = 0;
+            }
+            long remaining = deadline - scheduler.nanoTime();
+            if (remaining <= 0) {
+                result.completeExceptionally(
+                        new DeploymentTimeoutException(deploymentId, pollingStrategy.getTimeout(), lastStatus));
+                return;
+            }
+            Duration delay = pollingStrategy.nextDelay(state, polls++, random.getAsDouble());
+            // the last poll happens right at the deadline
+            if (delay.toNanos() > remaining) {
+                delay = Duration.ofNanos(remaining);
+            }
+            scheduler.schedule(this, delay);
+        }
+    }
+}
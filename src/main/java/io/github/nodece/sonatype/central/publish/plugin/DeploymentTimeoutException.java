@@ -0,0 +1,30 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import lombok.Getter;
+
+/**
+ * The deployment did not reach a final state before the deadline.
+ */
+@Getter
+public class DeploymentTimeoutException extends TimeoutException {
+    private final String deploymentId;
+
+    /**
+     * The last status received, or null when no status was received.
+     */
+    private final DeploymentStatus lastStatus;
+
+    public DeploymentTimeoutException(String deploymentId, Duration timeout, DeploymentStatus lastStatus) {
+        super("Deployment " + deploymentId + " did not complete within " + timeout + ", last state: "
+                + (lastStatus == null ? null : lastStatus.getDeploymentState()));
+        this.deploymentId = deploymentId;
+        this.lastStatus = lastStatus;
+    }
+}
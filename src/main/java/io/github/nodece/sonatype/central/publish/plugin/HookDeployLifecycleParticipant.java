@@ -7,6 +7,8 @@ package io.github.nodece.sonatype.central.publish.plugin;
 import static io.github.nodece.sonatype.central.publish.plugin.Constants.PLUGIN_ARTIFACT_ID;
 import static io.github.nodece.sonatype.central.publish.plugin.Constants.PLUGIN_GROUP_ID;
 
+import io.github.nodece.sonatype.central.publish.client.internal.SharedHttpClients;
+import java.io.IOException;
 import java.util.List;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -24,6 +26,10 @@ import org.codehaus.plexus.util.xml.Xpp3Dom;
 @Named
 @Singleton
 public class HookDeployLifecycleParticipant extends AbstractMavenLifecycleParticipant implements LogEnabled {
+    private static final String LOADED_KEY = HookDeployLifecycleParticipant.class.getName();
+    private static final String SHARED_HTTP_CLIENTS_KEY = SharedHttpClients.class.getName();
+    private static final String SCHEDULER_KEY = SystemScheduler.class.getName();
+
     private Logger logger;
 
     public void enableLogging(Logger logger) {
@@ -102,5 +108,56 @@ public class HookDeployLifecycleParticipant extends AbstractMavenLifecyclePartic
                 setupPublishExecution(selfDeployPlugin);
             }
         }
+        // the projects that publish are found once instead of by each execution of the publish goal
+        ReactorTracker.get(session);
+        // the executions leave the resources of the session to afterSessionEnd
+        session.getRepositorySession().getData().set(LOADED_KEY, Boolean.TRUE);
+        // the executions share the HTTP clients, they are created on first use and closed at the end of the session
+        session.getRepositorySession().getData().set(SHARED_HTTP_CLIENTS_KEY, new SharedHttpClients());
+        // and the scheduler of the status pollers, its thread starts with the first poll
+        session.getRepositorySession().getData().set(SCHEDULER_KEY, new SystemScheduler());
+    }
+
+    @Override
+    public void afterSessionEnd(MavenSession session) throws MavenExecutionException {
+        ChecksumPrecomputer.shutdown(session);
+        SystemScheduler scheduler = getScheduler(session);
+        if (scheduler != null) {
+            session.getRepositorySession().getData().set(SCHEDULER_KEY, null);
+            scheduler.close();
+        }
+        SharedHttpClients sharedHttpClients = getSharedHttpClients(session);
+        if (sharedHttpClients == null) {
+            return;
+        }
+        session.getRepositorySession().getData().set(SHARED_HTTP_CLIENTS_KEY, null);
+        try {
+            sharedHttpClients.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close the HTTP clients", e);
+        }
+    }
+
+    /**
+     * Returns whether the plugin is loaded as an extension, so {@link #afterSessionEnd(MavenSession)} releases the
+     * resources of the session even when the build fails before the publishing execution.
+     */
+    static boolean isLoaded(MavenSession session) {
+        return session.getRepositorySession().getData().get(LOADED_KEY) != null;
+    }
+
+    /**
+     * Returns the scheduler of the session, or null when the plugin is not loaded as an extension.
+     */
+    static SystemScheduler getScheduler(MavenSession session) {
+        return (SystemScheduler) session.getRepositorySession().getData().get(SCHEDULER_KEY);
+    }
+
+    /**
+     * Returns the HTTP clients of the session, or null when the plugin is not loaded as an extension, in which case
+     * nothing would close them at the end of the session.
+     */
+    static SharedHttpClients getSharedHttpClients(MavenSession session) {
+        return (SharedHttpClients) session.getRepositorySession().getData().get(SHARED_HTTP_CLIENTS_KEY);
     }
 }
@@ -0,0 +1,635 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+
+/**
+ * Writes a zip archive whose entries are compressed on a worker pool. The entries are written to the output in the
+ * order they are added, so the archive has the same content whatever the number of threads. Zip64 records are written
+ * when an entry or the archive exceeds the 4 GiB or 65535 entries limits of the zip format.
+ *
+ * <p>With a single thread the files are deflated straight into the output, their CRC and sizes follow the data in a
+ * data descriptor, so a large entry is neither buffered nor spilled to a temporary file.
+ */
+@Slf4j
+public class ParallelZipWriter implements Closeable {
+    private static final int DEFLATED = 8;
+    private static final int STORED = 0;
+    private static final int DATA_DESCRIPTOR_FLAG = 1 << 3;
+    private static final int UTF8_FLAG = 1 << 11;
+    private static final int VERSION = 20;
+    private static final int ZIP64_VERSION = 45;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_SHORT = 0xFFFF;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * The compressed entries of the workers larger than this are spilled to a temporary file instead of being kept in
+     * memory, the stored files up to this size are read into memory once.
+     */
+    static final int SPILL_THRESHOLD = 8 * 1024 * 1024;
+
+    private final OutputStream outputStream;
+    private final int level;
+    private final ExecutorService executor;
+    private final int maxPendingEntries;
+    private final Deque<Future<CompressedEntry>> pendingEntries = new ArrayDeque<>();
+    private final List<CentralDirectoryEntry> centralDirectory = new ArrayList<>();
+    private final int dosTime;
+    private long offset;
+    private boolean failed;
+    private boolean closed;
+
+    /**
+     * @param outputStream the output, closed when this writer is closed
+     * @param threads the number of compression threads, the entries are compressed on the calling thread when it is 1
+     * @param level the deflate level, from {@link Deflater#NO_COMPRESSION} to {@link Deflater#BEST_COMPRESSION}
+     */
+    public ParallelZipWriter(OutputStream outputStream, int threads, int level) {
+        this.outputStream = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+        this.level = level;
+        if (threads > 1) {
+            AtomicInteger counter = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(threads, r -> {
+                Thread thread = new Thread(r, "central-zip-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        } else {
+            this.executor = null;
+        }
+        // Bounds the memory used by the compressed entries waiting to be written.
+        this.maxPendingEntries = Math.max(1, threads) * 2;
+        this.dosTime = toDosTime(LocalDateTime.now());
+    }
+
+    private static int toDosTime(LocalDateTime time) {
+        if (time.getYear() < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (time.getYear() - 1980) << 25
+                | time.getMonthValue() << 21
+                | time.getDayOfMonth() << 16
+                | time.getHour() << 11
+                | time.getMinute() << 5
+                | time.getSecond() >> 1;
+    }
+
+    /**
+     * Adds a file entry, the file is read and compressed on a worker thread, or into the output when there is a single
+     * thread.
+     */
+    public void add(String name, Path file) throws IOException {
+        add(name, file, level);
+    }
+
+    /**
+     * Adds a file entry compressed with the given level, the entry is stored without compression when the level is
+     * {@link Deflater#NO_COMPRESSION}.
+     */
+    public void add(String name, Path file, int level) throws IOException {
+        if (level == Deflater.NO_COMPRESSION) {
+            submit(() -> store(name, file));
+            return;
+        }
+        if (executor == null) {
+            ensureOpen();
+            // the entries are written in order, the previous stored entry must precede this one
+            writePendingEntries();
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                deflateTo(name, inputStream, level);
+            } catch (IOException | RuntimeException e) {
+                failed = true;
+                throw e;
+            }
+            return;
+        }
+        submit(() -> {
+            try (InputStream inputStream = Files.newInputStream(file)) {
+                return compress(name, inputStream, level);
+            }
+        });
+    }
+
+    /**
+     * Adds an entry with the given content.
+     */
+    public void add(String name, byte[] content) throws IOException {
+        submit(() -> compress(name, new ByteArrayInputStream(content), level));
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed) {
+            throw new IOException("The zip writer is closed");
+        }
+    }
+
+    private void submit(Callable<CompressedEntry> task) throws IOException {
+        ensureOpen();
+        if (executor == null) {
+            CompletableFuture<CompressedEntry> future = new CompletableFuture<>();
+            try {
+                future.complete(task.call());
+            } catch (Exception e) {
+                future.completeExceptionally(e);
+            }
+            pendingEntries.add(future);
+        } else {
+            pendingEntries.add(executor.submit(task));
+        }
+        while (pendingEntries.size() >= maxPendingEntries) {
+            writePendingEntry();
+        }
+    }
+
+    private CompressedEntry store(String name, Path file) throws IOException {
+        // A stored entry needs its CRC before its data, the streaming readers reject a stored entry with a data
+        // descriptor. A small file is read once into memory, a larger one is read for its CRC here and copied to the
+        // output when the entry is written.
+        if (Files.size(file) <= SPILL_THRESHOLD) {
+            byte[] content = Files.readAllBytes(file);
+            CRC32 crc = new CRC32();
+            crc.update(content);
+            return new CompressedEntry(name, STORED, crc.getValue(), content.length, new BytesEntryData(content));
+        }
+        CRC32 crc = new CRC32();
+        long size = 0;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int n;
+            while ((n = inputStream.read(buffer)) != -1) {
+                crc.update(buffer, 0, n);
+                size += n;
+            }
+        }
+        return new CompressedEntry(name, STORED, crc.getValue(), size, new FileEntryData(file, size));
+    }
+
+    private CompressedEntry compress(String name, InputStream inputStream, int level) throws IOException {
+        CRC32 crc = new CRC32();
+        SpillOutputStream data = new SpillOutputStream();
+        Deflater deflater = new Deflater(level, true);
+        long size = 0;
+        try (DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(data, deflater, BUFFER_SIZE)) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int n;
+            while ((n = inputStream.read(buffer)) != -1) {
+                crc.update(buffer, 0, n);
+                deflaterOutputStream.write(buffer, 0, n);
+                size += n;
+            }
+        } catch (IOException | RuntimeException e) {
+            data.delete();
+            throw e;
+        } finally {
+            deflater.end();
+        }
+        return new CompressedEntry(name, DEFLATED, crc.getValue(), size, data);
+    }
+
+    /**
+     * Writes a deflated entry straight to the output, followed by a data descriptor with its CRC and sizes.
+     */
+    private void deflateTo(String name, InputStream inputStream, int level) throws IOException {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        int flags = UTF8_FLAG | DATA_DESCRIPTOR_FLAG;
+        ByteBuffer header = newBuffer(30 + nameBytes.length);
+        header.putInt(0x04034b50);
+        header.putShort((short) VERSION);
+        header.putShort((short) flags);
+        header.putShort((short) DEFLATED);
+        header.putInt(dosTime);
+        header.putInt(0);
+        header.putInt(0);
+        header.putInt(0);
+        header.putShort((short) nameBytes.length);
+        header.putShort((short) 0);
+        header.put(nameBytes);
+        long localHeaderOffset = offset;
+        write(header);
+
+        CRC32 crc = new CRC32();
+        Deflater deflater = new Deflater(level, true);
+        long size;
+        long compressedSize;
+        try {
+            // finish() does not close the output
+            DeflaterOutputStream deflaterOutputStream = new DeflaterOutputStream(outputStream, deflater, BUFFER_SIZE);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int n;
+            while ((n = inputStream.read(buffer)) != -1) {
+                crc.update(buffer, 0, n);
+                deflaterOutputStream.write(buffer, 0, n);
+            }
+            deflaterOutputStream.finish();
+            size = deflater.getBytesRead();
+            compressedSize = deflater.getBytesWritten();
+        } finally {
+            deflater.end();
+        }
+        offset += compressedSize;
+
+        // as java.util.zip, the sizes of the descriptor are 8 bytes only when they exceed 4 GiB
+        boolean zip64 = size >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC;
+        ByteBuffer descriptor = newBuffer(zip64 ? 24 : 16);
+        descriptor.putInt(0x08074b50);
+        descriptor.putInt((int) crc.getValue());
+        if (zip64) {
+            descriptor.putLong(compressedSize);
+            descriptor.putLong(size);
+        } else {
+            descriptor.putInt((int) compressedSize);
+            descriptor.putInt((int) size);
+        }
+        write(descriptor);
+        centralDirectory.add(new CentralDirectoryEntry(
+                nameBytes, flags, DEFLATED, crc.getValue(), size, compressedSize, localHeaderOffset));
+    }
+
+    private void writePendingEntries() throws IOException {
+        while (!pendingEntries.isEmpty()) {
+            writePendingEntry();
+        }
+    }
+
+    private void writePendingEntry() throws IOException {
+        Future<CompressedEntry> future = pendingEntries.poll();
+        if (future == null) {
+            return;
+        }
+        CompressedEntry entry;
+        try {
+            entry = future.get();
+        } catch (InterruptedException e) {
+            failed = true;
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while compressing zip entries");
+        } catch (ExecutionException e) {
+            failed = true;
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+        try {
+            writeEntry(entry);
+        } catch (IOException e) {
+            failed = true;
+            throw e;
+        } finally {
+            entry.data.delete();
+        }
+    }
+
+    private void writeEntry(CompressedEntry entry) throws IOException {
+        byte[] name = entry.name.getBytes(StandardCharsets.UTF_8);
+        long compressedSize = entry.data.size();
+        boolean zip64 = entry.size >= ZIP64_MAGIC || compressedSize >= ZIP64_MAGIC;
+        ByteBuffer header = newBuffer(30 + name.length + (zip64 ? 20 : 0));
+        header.putInt(0x04034b50);
+        header.putShort((short) (zip64 ? ZIP64_VERSION : VERSION));
+        header.putShort((short) UTF8_FLAG);
+        header.putShort((short) entry.method);
+        header.putInt(dosTime);
+        header.putInt((int) entry.crc);
+        header.putInt((int) (zip64 ? ZIP64_MAGIC : compressedSize));
+        header.putInt((int) (zip64 ? ZIP64_MAGIC : entry.size));
+        header.putShort((short) name.length);
+        header.putShort((short) (zip64 ? 20 : 0));
+        header.put(name);
+        if (zip64) {
+            header.putShort((short) 0x0001);
+            header.putShort((short) 16);
+            header.putLong(entry.size);
+            header.putLong(compressedSize);
+        }
+        long localHeaderOffset = offset;
+        write(header);
+        offset += entry.data.writeTo(outputStream);
+        centralDirectory.add(new CentralDirectoryEntry(
+                name, UTF8_FLAG, entry.method, entry.crc, entry.size, compressedSize, localHeaderOffset));
+    }
+
+    private void writeCentralDirectory() throws IOException {
+        long centralDirectoryOffset = offset;
+        for (CentralDirectoryEntry entry : centralDirectory) {
+            boolean zip64Size = entry.size >= ZIP64_MAGIC || entry.compressedSize >= ZIP64_MAGIC;
+            boolean zip64Offset = entry.localHeaderOffset >= ZIP64_MAGIC;
+            int extraLength = zip64Size || zip64Offset ? 4 + (zip64Size ? 16 : 0) + (zip64Offset ? 8 : 0) : 0;
+            int version = extraLength > 0 ? ZIP64_VERSION : VERSION;
+            ByteBuffer header = newBuffer(46 + entry.name.length + extraLength);
+            header.putInt(0x02014b50);
+            header.putShort((short) version);
+            header.putShort((short) version);
+            header.putShort((short) entry.flags);
+            header.putShort((short) entry.method);
+            header.putInt(dosTime);
+            header.putInt((int) entry.crc);
+            header.putInt((int) (zip64Size ? ZIP64_MAGIC : entry.compressedSize));
+            header.putInt((int) (zip64Size ? ZIP64_MAGIC : entry.size));
+            header.putShort((short) entry.name.length);
+            header.putShort((short) extraLength);
+            header.putShort((short) 0);
+            header.putShort((short) 0);
+            header.putShort((short) 0);
+            header.putInt(0);
+            header.putInt((int) (zip64Offset ? ZIP64_MAGIC : entry.localHeaderOffset));
+            header.put(entry.name);
+            if (extraLength > 0) {
+                header.putShort((short) 0x0001);
+                header.putShort((short) (extraLength - 4));
+                if (zip64Size) {
+                    header.putLong(entry.size);
+                    header.putLong(entry.compressedSize);
+                }
+                if (zip64Offset) {
+                    header.putLong(entry.localHeaderOffset);
+                }
+            }
+            write(header);
+        }
+        long centralDirectorySize = offset - centralDirectoryOffset;
+        int entries = centralDirectory.size();
+        if (entries >= ZIP64_MAGIC_SHORT
+                || centralDirectoryOffset >= ZIP64_MAGIC
+                || centralDirectorySize >= ZIP64_MAGIC) {
+            long zip64EndOffset = offset;
+            ByteBuffer zip64End = newBuffer(56 + 20);
+            zip64End.putInt(0x06064b50);
+            zip64End.putLong(44);
+            zip64End.putShort((short) ZIP64_VERSION);
+            zip64End.putShort((short) ZIP64_VERSION);
+            zip64End.putInt(0);
+            zip64End.putInt(0);
+            zip64End.putLong(entries);
+            zip64End.putLong(entries);
+            zip64End.putLong(centralDirectorySize);
+            zip64End.putLong(centralDirectoryOffset);
+            zip64End.putInt(0x07064b50);
+            zip64End.putInt(0);
+            zip64End.putLong(zip64EndOffset);
+            zip64End.putInt(1);
+            write(zip64End);
+        }
+        ByteBuffer end = newBuffer(22);
+        end.putInt(0x06054b50);
+        end.putShort((short) 0);
+        end.putShort((short) 0);
+        end.putShort((short) Math.min(entries, ZIP64_MAGIC_SHORT));
+        end.putShort((short) Math.min(entries, ZIP64_MAGIC_SHORT));
+        end.putInt((int) Math.min(centralDirectorySize, ZIP64_MAGIC));
+        end.putInt((int) Math.min(centralDirectoryOffset, ZIP64_MAGIC));
+        end.putShort((short) 0);
+        write(end);
+    }
+
+    private static ByteBuffer newBuffer(int size) {
+        return ByteBuffer.allocate(size).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private void write(ByteBuffer buffer) throws IOException {
+        outputStream.write(buffer.array(), 0, buffer.position());
+        offset += buffer.position();
+    }
+
+    /**
+     * Writes the remaining entries and the central directory, then closes the output. When an entry failed, the
+     * pending entries are discarded and the archive is left incomplete.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (!failed) {
+                writePendingEntries();
+                writeCentralDirectory();
+            }
+        } finally {
+            discardPendingEntries();
+            outputStream.close();
+        }
+    }
+
+    /**
+     * Deletes the data of the entries that were not written. The tasks that have not started are dropped and the
+     * running ones are interrupted, they are waited for so the spill files of those that still complete are deleted.
+     */
+    private void discardPendingEntries() {
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    log.warn(
+                            "Timed out waiting for the zip entries to be compressed, their temporary files may remain");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        Future<CompressedEntry> future;
+        while ((future = pendingEntries.poll()) != null) {
+            if (!future.isDone()) {
+                continue;
+            }
+            try {
+                future.get().data.delete();
+            } catch (Exception e) {
+                log.debug("Discarded zip entry", e);
+            }
+        }
+    }
+
+    private static class CompressedEntry {
+        private final String name;
+        private final int method;
+        private final long crc;
+        private final long size;
+        private final EntryData data;
+
+        CompressedEntry(String name, int method, long crc, long size, EntryData data) {
+            this.name = name;
+            this.method = method;
+            this.crc = crc;
+            this.size = size;
+            this.data = data;
+        }
+    }
+
+    private static class CentralDirectoryEntry {
+        private final byte[] name;
+        private final int flags;
+        private final int method;
+        private final long crc;
+        private final long size;
+        private final long compressedSize;
+        private final long localHeaderOffset;
+
+        CentralDirectoryEntry(
+                byte[] name, int flags, int method, long crc, long size, long compressedSize, long localHeaderOffset) {
+            this.name = name;
+            this.flags = flags;
+            this.method = method;
+            this.crc = crc;
+            this.size = size;
+            this.compressedSize = compressedSize;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+    }
+
+    private interface EntryData {
+        long size();
+
+        long writeTo(OutputStream outputStream) throws IOException;
+
+        void delete();
+    }
+
+    private static class FileEntryData implements EntryData {
+        private final Path file;
+        private final long size;
+
+        FileEntryData(Path file, long size) {
+            this.file = file;
+            this.size = size;
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long writeTo(OutputStream outputStream) throws IOException {
+            long written = Files.copy(file, outputStream);
+            if (written != size) {
+                throw new IOException(file + " changed while the bundle was written");
+            }
+            return written;
+        }
+
+        @Override
+        public void delete() {}
+    }
+
+    private static class BytesEntryData implements EntryData {
+        private final byte[] content;
+
+        BytesEntryData(byte[] content) {
+            this.content = content;
+        }
+
+        @Override
+        public long size() {
+            return content.length;
+        }
+
+        @Override
+        public long writeTo(OutputStream outputStream) throws IOException {
+            outputStream.write(content);
+            return content.length;
+        }
+
+        @Override
+        public void delete() {}
+    }
+
+    /**
+     * Keeps the compressed data in memory up to {@link #SPILL_THRESHOLD}, then in a temporary file.
+     */
+    private static class SpillOutputStream extends OutputStream implements EntryData {
+        private ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        private Path file;
+        private OutputStream fileOutputStream;
+        private long size;
+
+        private OutputStream target(int length) throws IOException {
+            if (file == null && memory.size() + length > SPILL_THRESHOLD) {
+                file = Files.createTempFile("central-zip-", ".deflate");
+                fileOutputStream = new BufferedOutputStream(Files.newOutputStream(file), BUFFER_SIZE);
+                memory.writeTo(fileOutputStream);
+                memory = null;
+            }
+            return file == null ? memory : fileOutputStream;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            target(1).write(b);
+            size++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            target(len).write(b, off, len);
+            size += len;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (fileOutputStream != null) {
+                fileOutputStream.close();
+            }
+        }
+
+        @Override
+        public long size() {
+            return size;
+        }
+
+        @Override
+        public long writeTo(OutputStream outputStream) throws IOException {
+            if (file == null) {
+                memory.writeTo(outputStream);
+            } else {
+                Files.copy(file, outputStream);
+            }
+            return size;
+        }
+
+        @Override
+        public void delete() {
+            memory = null;
+            if (file != null) {
+                IOUtils.closeQuietly(fileOutputStream);
+                FileUtils.deleteQuietly(file.toFile());
+            }
+        }
+    }
+}
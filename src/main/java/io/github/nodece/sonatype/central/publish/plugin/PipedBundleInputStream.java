@@ -0,0 +1,95 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.util.Collection;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.eclipse.aether.artifact.Artifact;
+
+/**
+ * Reads a bundle while a background thread is still writing it, so the bundle can be uploaded without being
+ * written to the disk first. The pipe buffer bounds the memory used whatever the bundle size.
+ */
+@Slf4j
+public class PipedBundleInputStream extends FilterInputStream {
+    static final int PIPE_SIZE = 4 * 1024 * 1024;
+
+    private final Thread writer;
+    private volatile Throwable failure;
+    private long size;
+
+    private PipedBundleInputStream(ZipBundle zipBundle, Collection<Artifact> artifacts) throws IOException {
+        super(new PipedInputStream(PIPE_SIZE));
+        PipedOutputStream outputStream = new PipedOutputStream((PipedInputStream) in);
+        writer = new Thread(
+                () -> {
+                    try {
+                        // The pipe is closed only after the failure is recorded, see count(int).
+                        zipBundle.install(artifacts, CloseShieldOutputStream.wrap(outputStream));
+                    } catch (Throwable e) {
+                        failure = e;
+                        log.debug("Failed to write the bundle", e);
+                    } finally {
+                        IOUtils.closeQuietly(outputStream);
+                    }
+                },
+                "central-bundle-writer");
+        writer.setDaemon(true);
+    }
+
+    public static PipedBundleInputStream open(ZipBundle zipBundle, Collection<Artifact> artifacts) throws IOException {
+        PipedBundleInputStream inputStream = new PipedBundleInputStream(zipBundle, artifacts);
+        inputStream.writer.start();
+        return inputStream;
+    }
+
+    /**
+     * Returns the number of bundle bytes read so far.
+     */
+    public long getSize() {
+        return size;
+    }
+
+    private int count(int n) throws IOException {
+        if (n == -1) {
+            // The writer closes the pipe when it fails, the reader must not take a truncated bundle as complete.
+            Throwable cause = failure;
+            if (cause != null) {
+                throw new IOException("Failed to write the bundle", cause);
+            }
+        } else {
+            size += n;
+        }
+        return n;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        count(b == -1 ? -1 : 1);
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return count(super.read(b, off, len));
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        throw new IOException("skip is not supported");
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Decides when the deployment status is polled next. The interval starts from the interval of the current state and
+ * grows by the multiplier with every poll that finds the deployment still in that state, up to the maximum interval,
+ * it starts over when the state changes.
+ */
+@Getter
+@Builder
+@ToString
+public class PollingStrategy {
+    public static final PollingStrategy DEFAULT = builder().build();
+
+    @Builder.Default
+    private final Duration initialDelay = Duration.ofSeconds(1);
+
+    /**
+     * The interval of the states without a state-specific interval.
+     */
+    @Builder.Default
+    private final Duration interval = Duration.ofSeconds(3);
+
+    @Builder.Default
+    private final Map<DeploymentState, Duration> stateIntervals = defaultStateIntervals();
+
+    @Builder.Default
+    private final double multiplier = 1.5;
+
+    @Builder.Default
+    private final Duration maxInterval = Duration.ofSeconds(30);
+
+    /**
+     * The random spread of each interval, 0.2 is plus or minus 20%.
+     */
+    @Builder.Default
+    private final double jitter = 0.2;
+
+    /**
+     * How long the deployment is polled before it fails, null or zero is unlimited.
+     */
+    @Builder.Default
+    private final Duration timeout = Duration.ofHours(2);
+
+    private static Map<DeploymentState, Duration> defaultStateIntervals() {
+        Map<DeploymentState, Duration> intervals = new EnumMap<>(DeploymentState.class);
+        // a deployment is usually validated within seconds, publishing to Maven Central takes minutes
+        intervals.put(DeploymentState.PENDING, Duration.ofSeconds(1));
+        intervals.put(DeploymentState.VALIDATING, Duration.ofSeconds(2));
+        intervals.put(DeploymentState.PUBLISHING, Duration.ofSeconds(3));
+        return Collections.unmodifiableMap(intervals);
+    }
+
+    public boolean hasTimeout() {
+        return timeout != null && !timeout.isZero() && !timeout.isNegative();
+    }
+
+    /**
+     * Returns the delay before the next poll.
+     *
+     * @param state the last known state, or null when it is not known
+     * @param polls the number of polls that already found the deployment in this state
+     * @param random a random number between 0 and 1 that spreads the delay
+     */
+    public Duration nextDelay(DeploymentState state, int polls, double random) {
+        Duration base = state == null ? interval : stateIntervals.getOrDefault(state, interval);
+        double delay = Math.min(maxInterval.toMillis(), base.toMillis() * Math.pow(multiplier, polls));
+        delay *= 1 + jitter * (2 * random - 1);
+        return Duration.ofMillis(Math.max(0, Math.min(maxInterval.toMillis(), Math.round(delay))));
+    }
+}
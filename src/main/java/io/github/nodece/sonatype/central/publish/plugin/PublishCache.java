@@ -0,0 +1,136 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.codec.digest.DigestUtils;
+
+/**
+ * An index of the deployments by the content hash of their bundle, so a repeated release reuses the deployment of an
+ * identical bundle instead of uploading it again. The cache is best effort, a failure to read or write it is logged
+ * and treated as a miss.
+ */
+@Slf4j
+public class PublishCache {
+    private static final String INDEX_FILE = "deployments.json";
+    private static final String LOCK_FILE = "deployments.lock";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            .enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Path directory;
+
+    public PublishCache(Path directory) {
+        this.directory = directory;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    public static class Entry {
+        private String deploymentId;
+        private String deploymentName;
+
+        /**
+         * The last known state of the deployment.
+         */
+        private DeploymentState state;
+
+        private String updatedAt;
+    }
+
+    /**
+     * Returns the key of a bundle, a deployment is only reused for the same content, portal and publishing type.
+     */
+    public static String key(String contentHash, URI uri, PublishingType publishingType) {
+        return DigestUtils.sha256Hex(
+                (contentHash + "\n" + uri + "\n" + publishingType).getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Entry get(String key) {
+        try {
+            return withLock(index -> {}).get(key);
+        } catch (IOException e) {
+            log.warn("Failed to read the publish cache {}", directory, e);
+            return null;
+        }
+    }
+
+    public void put(String key, String deploymentId, String deploymentName, DeploymentState state) {
+        Entry entry = Entry.builder()
+                .deploymentId(deploymentId)
+                .deploymentName(deploymentName)
+                .state(state)
+                .updatedAt(Instant.now().toString())
+                .build();
+        update(index -> index.put(key, entry));
+    }
+
+    public void remove(String key) {
+        update(index -> index.remove(key));
+    }
+
+    private void update(Consumer<Map<String, Entry>> update) {
+        try {
+            withLock(update);
+        } catch (IOException e) {
+            log.warn("Failed to update the publish cache {}", directory, e);
+        }
+    }
+
+    /**
+     * Reads the index, applies the update and writes the index back while holding a lock, the cache can be shared by
+     * concurrent builds.
+     */
+    private synchronized Map<String, Entry> withLock(Consumer<Map<String, Entry>> update) throws IOException {
+        Files.createDirectories(directory);
+        Path indexFile = directory.resolve(INDEX_FILE);
+        try (FileChannel lockChannel =
+                FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            FileLock lock = lockChannel.lock();
+            try {
+                Map<String, Entry> index = Files.isRegularFile(indexFile)
+                        ? objectMapper.readValue(indexFile.toFile(), new TypeReference<TreeMap<String, Entry>>() {})
+                        : new TreeMap<>();
+                Map<String, Entry> before = new TreeMap<>(index);
+                update.accept(index);
+                if (!index.equals(before)) {
+                    Path tempFile = Files.createTempFile(directory, INDEX_FILE, ".tmp");
+                    objectMapper.writeValue(tempFile.toFile(), index);
+                    Files.move(
+                            tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                }
+                return index;
+            } finally {
+                lock.release();
+            }
+        }
+    }
+}
@@ -5,6 +5,7 @@
 package io.github.nodece.sonatype.central.publish.plugin;
 
 import static io.github.nodece.sonatype.central.publish.client.api.DeploymentState.PUBLISHED;
+import static io.github.nodece.sonatype.central.publish.client.api.DeploymentState.VALIDATED;
 import static io.github.nodece.sonatype.central.publish.plugin.Constants.CENTRAL_REPOSITORY_URL;
 import static io.github.nodece.sonatype.central.publish.plugin.Constants.CENTRAL_SNAPSHOT_REPOSITORY_URL;
 import static io.github.nodece.sonatype.central.publish.plugin.Constants.PLUGIN_NOTATION;
@@ -16,90 +17,57 @@ import dev.failsafe.RetryPolicy;
 import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
 import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
 import io.github.nodece.sonatype.central.publish.client.api.Publisher;
-import io.github.nodece.sonatype.central.publish.client.api.PublisherConfig;
 import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
-import io.github.nodece.sonatype.central.publish.client.internal.DefaultPublisher;
-import io.github.nodece.sonatype.central.publish.client.internal.HttpResponseException;
+import io.github.nodece.sonatype.central.publish.client.api.UploadSource;
+import io.github.nodece.sonatype.central.publish.plugin.ReactorTracker.PublishState;
+import io.github.nodece.sonatype.central.publish.util.DurationUtils;
+import io.github.nodece.sonatype.central.publish.util.RateLimiter;
+import io.github.nodece.sonatype.central.publish.util.SizeUtils;
 import java.io.File;
-import java.io.FileInputStream;
+import java.io.IOException;
 import java.net.URI;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import javax.inject.Inject;
-import javax.inject.Named;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.io.FileUtils;
 import org.apache.maven.RepositoryUtils;
-import org.apache.maven.execution.MavenSession;
-import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
-import org.apache.maven.plugin.descriptor.PluginDescriptor;
 import org.apache.maven.plugins.annotations.Mojo;
 import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.project.MavenProject;
 import org.apache.maven.project.artifact.ProjectArtifact;
-import org.apache.maven.settings.Server;
-import org.apache.maven.settings.crypto.DefaultSettingsDecryptionRequest;
-import org.apache.maven.settings.crypto.SettingsDecrypter;
-import org.apache.maven.settings.crypto.SettingsDecryptionResult;
-import org.eclipse.aether.DefaultRepositorySystemSession;
 import org.eclipse.aether.RepositorySystem;
 import org.eclipse.aether.RepositorySystemSession;
 import org.eclipse.aether.deployment.DeployRequest;
-import org.eclipse.aether.installation.InstallRequest;
-import org.eclipse.aether.installation.InstallationException;
-import org.eclipse.aether.internal.impl.SimpleLocalRepositoryManagerFactory;
-import org.eclipse.aether.repository.LocalRepository;
-import org.eclipse.aether.repository.NoLocalRepositoryManagerException;
 import org.eclipse.aether.repository.RemoteRepository;
 import org.eclipse.aether.repository.RemoteRepository.Builder;
-import org.eclipse.aether.spi.localrepo.LocalRepositoryManagerFactory;
 import org.eclipse.aether.util.artifact.ArtifactIdUtils;
 
 @Slf4j
 @Mojo(name = "publish", defaultPhase = DEPLOY, threadSafe = true, requiresOnline = true)
-public class PublishMojo extends AbstractMojo {
+public class PublishMojo extends AbstractPublisherMojo {
 
     @Inject
     private RepositorySystem repositorySystem;
 
-    @Inject
-    private SettingsDecrypter settingsDecrypter;
-
-    @Inject
-    @Named(SimpleLocalRepositoryManagerFactory.NAME)
-    private LocalRepositoryManagerFactory simpleLocalRepositoryManagerFactory;
-
-    @Parameter(defaultValue = "${plugin}", required = true, readonly = true)
-    private PluginDescriptor pluginDescriptor;
-
-    @Parameter(defaultValue = "${session}", readonly = true, required = true)
-    protected MavenSession session;
-
     @Parameter(property = "skip")
     private boolean skip;
 
-    @Parameter(name = "username")
-    private String username;
-
-    @Parameter(name = "password")
-    private String password;
-
-    @Parameter(name = "token")
-    private String token;
-
-    @Parameter(name = "url")
-    private URI url;
-
     @Parameter(name = "snapshotUrl")
     private URI snapshotUrl;
 
@@ -109,38 +77,165 @@ public class PublishMojo extends AbstractMojo {
     @Parameter(name = "publishingType", defaultValue = "USER_MANAGED")
     private PublishingType publishingType;
 
-    @Parameter(name = "serverId", defaultValue = "central")
-    private String serverId;
-
-    private enum PublishState {
-        PENDING,
-        SKIPPED
-    }
-
-    private void putPublishState(MavenProject project, PublishState state) {
-        log.info("Setting state {} for {}", state, project);
-        session.getPluginContext(pluginDescriptor, project).put(PublishState.class.getName(), state);
-    }
-
-    private boolean hasPendingPublishState(MavenProject project) {
-        return PublishState.PENDING.equals(
-                session.getPluginContext(pluginDescriptor, project).get(PublishState.class.getName()));
-    }
-
-    private PublishState getPublishState(MavenProject project) {
-        return (PublishState)
-                session.getPluginContext(pluginDescriptor, project).get(PublishState.class.getName());
-    }
-
-    private RepositorySystemSession createStagingRepositorySession(Path rootDirectory)
-            throws NoLocalRepositoryManagerException {
-        RepositorySystemSession repositorySession = session.getRepositorySession();
-        DefaultRepositorySystemSession repositorySystemSession = new DefaultRepositorySystemSession(repositorySession);
-        Path stagingDirectory = Paths.get(rootDirectory.toString(), "staging");
-        repositorySystemSession.setLocalRepositoryManager(simpleLocalRepositoryManagerFactory.newInstance(
-                session.getRepositorySession(), new LocalRepository(new File(stagingDirectory.toString()))));
-        return repositorySystemSession;
-    }
+    /**
+     * The number of modules whose snapshot artifacts are deployed concurrently, each module is retried separately
+     * when it is greater than 1, otherwise all snapshot artifacts are deployed in one request.
+     */
+    @Parameter(name = "snapshotParallelism", defaultValue = "1")
+    private int snapshotParallelism;
+
+    /**
+     * The maximum number of retries of a snapshot deploy request, the retries are spaced with backoff.
+     */
+    @Parameter(name = "snapshotMaxRetries", defaultValue = "3")
+    private int snapshotMaxRetries;
+
+    /**
+     * The checksum files generated for each bundle entry, md5 and sha1 are always generated.
+     * Supported values: md5, sha1, sha256, sha512.
+     */
+    @Parameter(name = "checksumAlgorithms")
+    private List<String> checksumAlgorithms;
+
+    /**
+     * The number of files hashed concurrently when creating the checksum files.
+     */
+    @Parameter(name = "checksumParallelism", defaultValue = "1")
+    private int checksumParallelism;
+
+    /**
+     * Reads the checksums of the artifact files that are unchanged since the last build from a cache, instead of
+     * reading the files again.
+     */
+    @Parameter(property = "checksumCache", defaultValue = "false")
+    private boolean checksumCache;
+
+    @Parameter(
+            name = "checksumCacheDirectory",
+            defaultValue = "${settings.localRepository}/.cache/sonatype-central-publish")
+    private File checksumCacheDirectory;
+
+    /**
+     * Computes the checksums of the artifacts of each module in the background when the module runs the publish goal,
+     * instead of computing all of them when the last module publishes. Enabled by default when the plugin is loaded as
+     * an extension, which stops the background threads at the end of the session even when the build fails.
+     */
+    @Parameter(name = "precomputeChecksums")
+    private Boolean precomputeChecksums;
+
+    /**
+     * The number of bundle entries compressed concurrently.
+     */
+    @Parameter(name = "compressionThreads", defaultValue = "1")
+    private int compressionThreads;
+
+    /**
+     * The compression of the bundle entries: {@code maximum} deflates every entry with the best compression,
+     * {@code adaptive} stores the already compressed entries, such as jars, and chooses the deflate level of the
+     * others from the compression throughput and the {@code uploadBandwidth}.
+     */
+    @Parameter(name = "compression", defaultValue = "maximum")
+    private String compression;
+
+    /**
+     * The expected upload bandwidth per second used by the {@code adaptive} compression, for example {@code 10MB}.
+     */
+    @Parameter(name = "uploadBandwidth", defaultValue = "10MB")
+    private String uploadBandwidth;
+
+    /**
+     * The maximum rate per second of the bundle uploads and the snapshot deployments together, for example
+     * {@code 5MB}, unset is unlimited.
+     */
+    @Parameter(property = "uploadRateLimit")
+    private String uploadRateLimit;
+
+    /**
+     * The bytes that can be sent at full speed after the transfers were idle, before the {@code uploadRateLimit}
+     * applies.
+     */
+    @Parameter(property = "uploadRateBurst", defaultValue = "1MB")
+    private String uploadRateBurst;
+
+    private RateLimiter uploadRateLimiter;
+
+    /**
+     * Uploads the bundle while it is being zipped instead of writing bundle.zip first.
+     */
+    @Parameter(name = "streamingUpload", defaultValue = "false")
+    private boolean streamingUpload;
+
+    /**
+     * Splits the release into several deployments of at most this size of artifact files, for example
+     * {@code 512MB}. The artifacts of a module are always in the same deployment.
+     */
+    @Parameter(name = "maxBundleSize")
+    private String maxBundleSize;
+
+    /**
+     * Splits the release into several deployments of at most this number of modules, 0 is unlimited.
+     */
+    @Parameter(name = "maxModulesPerBundle", defaultValue = "0")
+    private int maxModulesPerBundle;
+
+    /**
+     * The maximum number of retries of a bundle upload that failed before the Central Portal received it.
+     */
+    @Parameter(name = "uploadMaxRetries", defaultValue = "3")
+    private int uploadMaxRetries;
+
+    /**
+     * The interval between two progress messages of an upload, for example {@code 10s}.
+     */
+    @Parameter(name = "uploadProgressInterval", defaultValue = "10s")
+    private String uploadProgressInterval;
+
+    /**
+     * How long an upload may send no bytes before it is aborted and retried, for example {@code 2m}, 0 is unlimited.
+     */
+    @Parameter(name = "uploadStallTimeout", defaultValue = "2m")
+    private String uploadStallTimeout;
+
+    /**
+     * Stops after the upload instead of waiting for the deployments, their ids are written to
+     * {@code target/central-publish/deployment.json} and the wait goal resumes waiting for them.
+     */
+    @Parameter(property = "detached", defaultValue = "false")
+    private boolean detached;
+
+    /**
+     * Uploads the deployments as {@code USER_MANAGED}, waits until they are validated, checks them and publishes
+     * them, then waits until they are published.
+     */
+    @Parameter(property = "publishAfterValidation", defaultValue = "false")
+    private boolean publishAfterValidation;
+
+    /**
+     * Checks before publishing that each validated deployment contains the PURLs of all its components.
+     */
+    @Parameter(name = "verifyPurls", defaultValue = "true")
+    private boolean verifyPurls;
+
+    /**
+     * Remembers the deployment of each bundle by the hash of its content. A repeated release of an identical bundle
+     * skips the upload and tracks the earlier deployment, or skips the bundle when that deployment is published.
+     */
+    @Parameter(property = "publishCache", defaultValue = "false")
+    private boolean publishCache;
+
+    @Parameter(
+            name = "publishCacheDirectory",
+            defaultValue = "${settings.localRepository}/.cache/sonatype-central-publish")
+    private File publishCacheDirectory;
+
+    /**
+     * The formats of the report of the timings and throughput of the run, written to {@code target/central-publish}:
+     * {@code json}, {@code openmetrics} or {@code none}.
+     */
+    @Parameter(property = "reportFormats", defaultValue = "json")
+    private List<String> reportFormats;
+
+    private PublishReport report;
 
     private RemoteRepository createRemoteRepository(String url) {
         Builder builder = new Builder(serverId, "default", url);
@@ -154,7 +249,7 @@ public class PublishMojo extends AbstractMojo {
         if (isSnapshot) {
             repoUri = snapshotUrl;
         } else {
-            repoUri = url;
+            repoUri = getPublisherUri();
         }
         if (repoUri == null) {
             repoUri = isSnapshot ? URI.create(CENTRAL_SNAPSHOT_REPOSITORY_URL) : URI.create(CENTRAL_REPOSITORY_URL);
@@ -166,24 +261,32 @@ public class PublishMojo extends AbstractMojo {
         return createRemoteRepository(getRepositoryUri(true).toString());
     }
 
-    private boolean installArtifacts(InstallRequest installRequest, RepositorySystemSession repositorySession)
-            throws InstallationException {
-        if (installRequest.getArtifacts().isEmpty()) {
-            log.info("No artifacts to install");
-            return false;
+    private RateLimiter getUploadRateLimiter() {
+        if (uploadRateLimiter == null
+                && uploadRateLimit != null
+                && !uploadRateLimit.trim().isEmpty()) {
+            uploadRateLimiter =
+                    new RateLimiter(SizeUtils.parseSize(uploadRateLimit), SizeUtils.parseSize(uploadRateBurst));
+            log.info(
+                    "Limiting the upload rate to {}/s with a burst of {}",
+                    FileUtils.byteCountToDisplaySize(uploadRateLimiter.getBytesPerSecond()),
+                    FileUtils.byteCountToDisplaySize(uploadRateLimiter.getBurst()));
         }
-        repositorySystem.install(repositorySession, installRequest);
-        return true;
+        return uploadRateLimiter;
     }
 
-    private Server getServer() {
-        Server server = session.getSettings().getServer(serverId);
-        if (server != null) {
-            DefaultSettingsDecryptionRequest request = new DefaultSettingsDecryptionRequest(server);
-            SettingsDecryptionResult decrypt = settingsDecrypter.decrypt(request);
-            return decrypt.getServer();
+    private CompressionPolicy getCompressionPolicy() throws MojoExecutionException {
+        if ("maximum".equalsIgnoreCase(compression)) {
+            return CompressionPolicy.MAXIMUM;
+        } else if ("adaptive".equalsIgnoreCase(compression)) {
+            long bandwidth = SizeUtils.parseSize(uploadBandwidth);
+            RateLimiter rateLimiter = getUploadRateLimiter();
+            if (rateLimiter != null) {
+                bandwidth = Math.min(bandwidth, rateLimiter.getBytesPerSecond());
+            }
+            return CompressionPolicy.adaptive(bandwidth);
         }
-        return null;
+        throw new MojoExecutionException("Unsupported compression: " + compression);
     }
 
     @Override
@@ -194,121 +297,396 @@ public class PublishMojo extends AbstractMojo {
         } else {
             publishState = PublishState.PENDING;
         }
-        putPublishState(session.getCurrentProject(), publishState);
-        List<MavenProject> projects = findProjectsWithPlugin();
-        if (!areAllProjectsMarked(projects)) {
+        log.info("Setting state {} for {}", publishState, session.getCurrentProject());
+        if (publishState == PublishState.PENDING && isPrecomputeChecksums()) {
+            precomputeChecksums(session.getCurrentProject());
+        }
+        ReactorTracker reactorTracker = ReactorTracker.get(session);
+        if (!reactorTracker.mark(session.getCurrentProject(), publishState)) {
             return;
         }
+        long start = System.nanoTime();
+        report = new PublishReport();
         try {
             Path outputDirectory = Files.createTempDirectory(
                     Paths.get(session.getTopLevelProject().getBuild().getDirectory()),
                     "sonatype-central-publisher-maven-plugin-");
             log.info("Output directory: {}", outputDirectory);
-            List<MavenProject> pendingProjects =
-                    projects.stream().filter(this::hasPendingPublishState).collect(Collectors.toList());
-            InstallRequest releaseInstallRequest = new InstallRequest();
-            InstallRequest snapshotInstallRequest = new InstallRequest();
+            List<MavenProject> pendingProjects = reactorTracker.getPendingProjects();
+            List<List<org.eclipse.aether.artifact.Artifact>> releaseModules = new ArrayList<>();
+            List<List<org.eclipse.aether.artifact.Artifact>> snapshotModules = new ArrayList<>();
             for (MavenProject project : pendingProjects) {
+                List<org.eclipse.aether.artifact.Artifact> releaseArtifacts = new ArrayList<>();
+                List<org.eclipse.aether.artifact.Artifact> snapshotArtifacts = new ArrayList<>();
                 getAllArtifacts(project).forEach(n -> {
                     if (n.isSnapshot()) {
-                        snapshotInstallRequest.addArtifact(n);
+                        snapshotArtifacts.add(n);
                     } else {
-                        releaseInstallRequest.addArtifact(n);
+                        releaseArtifacts.add(n);
                     }
                 });
+                if (!releaseArtifacts.isEmpty()) {
+                    releaseModules.add(releaseArtifacts);
+                }
+                if (!snapshotArtifacts.isEmpty()) {
+                    snapshotModules.add(snapshotArtifacts);
+                }
             }
 
-            if (!snapshotInstallRequest.getArtifacts().isEmpty()) {
-                DeployRequest deployRequest = new DeployRequest();
-                snapshotInstallRequest.getArtifacts().forEach(deployRequest::addArtifact);
-                deployRequest.setRepository(getSnapRemoteRepository());
-                deploySnapshot(session.getRepositorySession(), deployRequest);
-                log.info(
-                        "Deployed snapshot artifacts to {}",
-                        deployRequest.getRepository().getUrl());
+            if (!snapshotModules.isEmpty()) {
+                long snapshotStart = System.nanoTime();
+                RemoteRepository snapshotRepository = getSnapRemoteRepository();
+                RepositorySystemSession snapshotSession = session.getRepositorySession();
+                if (getUploadRateLimiter() != null) {
+                    snapshotSession = RateLimitedTransferListener.limit(snapshotSession, getUploadRateLimiter());
+                }
+                if (snapshotParallelism > 1) {
+                    SnapshotDeployer.builder()
+                            .repositorySystem(repositorySystem)
+                            .session(snapshotSession)
+                            .repository(snapshotRepository)
+                            .parallelism(snapshotParallelism)
+                            .maxRetries(snapshotMaxRetries)
+                            .build()
+                            .deploy(snapshotModules);
+                } else {
+                    DeployRequest deployRequest = new DeployRequest();
+                    snapshotModules.forEach(n -> n.forEach(deployRequest::addArtifact));
+                    deployRequest.setRepository(snapshotRepository);
+                    deploySnapshot(snapshotSession, deployRequest);
+                }
+                report.recordPhase("snapshotDeploy", snapshotStart);
+                log.info("Deployed snapshot artifacts to {}", snapshotRepository.getUrl());
             }
 
-            if (!releaseInstallRequest.getArtifacts().isEmpty()) {
-                Path bundlePath = Paths.get(outputDirectory.toString(), "bundle.zip");
-                RepositorySystemSession stagingRepositorySession = createStagingRepositorySession(outputDirectory);
-                if (installArtifacts(releaseInstallRequest, stagingRepositorySession)) {
-                    ZipBundle.install(stagingRepositorySession, bundlePath);
+            if (!releaseModules.isEmpty()) {
+                publishRelease(outputDirectory, releaseModules);
+            }
+        } catch (Throwable e) {
+            throw new MojoExecutionException(e);
+        } finally {
+            // as an extension the lifecycle participant shuts the precomputer down at the end of the session
+            if (!HookDeployLifecycleParticipant.isLoaded(session)) {
+                ChecksumPrecomputer.shutdown(session);
+            }
+            closeScheduler();
+            report.setDurationMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            writeReport();
+        }
+    }
+
+    private void writeReport() {
+        Path directory = Paths.get(session.getTopLevelProject().getBuild().getDirectory());
+        try {
+            for (String format : reportFormats) {
+                if ("json".equalsIgnoreCase(format.trim())) {
+                    report.writeJson(directory.resolve(PublishReport.JSON_PATH));
+                } else if ("openmetrics".equalsIgnoreCase(format.trim())) {
+                    report.writeOpenMetrics(directory.resolve(PublishReport.OPEN_METRICS_PATH));
+                } else if (!"none".equalsIgnoreCase(format.trim())) {
+                    log.warn("Unsupported report format: {}", format);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Failed to write the publish report", e);
+        }
+        report.getPhases().forEach((name, phase) -> log.info("Phase {} took {} ms", name, phase.getTotalMillis()));
+        report.getDeployments()
+                .values()
+                .forEach(n -> log.info(
+                        "Deployment {}: uploaded {} in {} ms ({} MB/s), {} status polls, time per state: {}",
+                        n.getDeploymentId(),
+                        FileUtils.byteCountToDisplaySize(n.getUploadBytes()),
+                        n.getUploadMillis(),
+                        String.format(Locale.ROOT, "%.1f", n.getUploadMegabytesPerSecond()),
+                        n.getStatusPolls(),
+                        n.getStateMillis()));
+    }
+
+    private ChecksumCache createChecksumCache() {
+        return checksumCache ? new ChecksumCache(checksumCacheDirectory.toPath()) : null;
+    }
+
+    private boolean isPrecomputeChecksums() {
+        return precomputeChecksums != null ? precomputeChecksums : HookDeployLifecycleParticipant.isLoaded(session);
+    }
+
+    private ChecksumPrecomputer getChecksumPrecomputer() {
+        return ChecksumPrecomputer.get(session, checksumParallelism, createChecksumCache());
+    }
+
+    /**
+     * Starts computing the checksums of the release artifacts of the project in the background, the checksums of the
+     * bundle entries are then ready when the last module publishes.
+     */
+    private void precomputeChecksums(MavenProject project) {
+        Set<ChecksumAlgorithm> algorithms = ChecksumAlgorithm.of(checksumAlgorithms);
+        if (publishCache) {
+            // the content hash of the bundle
+            algorithms.add(ChecksumAlgorithm.SHA256);
+        }
+        List<Path> files = new ArrayList<>();
+        for (org.eclipse.aether.artifact.Artifact artifact : getAllArtifacts(project)) {
+            File file = artifact.getFile();
+            if (!artifact.isSnapshot()
+                    && file != null
+                    && file.isFile()
+                    && !ChecksumAlgorithm.isChecksumOrSignature(ZipBundle.layoutPath(artifact))) {
+                files.add(file.toPath());
+            }
+        }
+        try {
+            getChecksumPrecomputer().submit(files, algorithms);
+        } catch (IOException e) {
+            log.warn("Failed to precompute the checksums of {}", project, e);
+        }
+    }
+
+    private void publishRelease(Path outputDirectory, List<List<org.eclipse.aether.artifact.Artifact>> modules)
+            throws Throwable {
+        if (detached && publishAfterValidation) {
+            throw new MojoExecutionException("The detached mode cannot publish after the validation");
+        }
+        Publisher publisher = new ReportingPublisher(
+                createPublisher(publisherConfig()
+                        .uploadMaxRetries(uploadMaxRetries)
+                        .uploadRateLimiter(getUploadRateLimiter())
+                        .uploadListener(new UploadProgressLogger())
+                        .uploadProgressInterval(DurationUtils.parseDuration(uploadProgressInterval))
+                        .uploadStallTimeout(DurationUtils.parseDuration(uploadStallTimeout))
+                        .build()),
+                report);
+        try {
+            publishRelease(publisher, outputDirectory, modules);
+        } finally {
+            publisher.close().get();
+        }
+    }
+
+    private void publishRelease(
+            Publisher publisher, Path outputDirectory, List<List<org.eclipse.aether.artifact.Artifact>> modules)
+            throws Throwable {
+        ZipBundle zipBundle = ZipBundle.builder()
+                .checksumAlgorithms(ChecksumAlgorithm.of(checksumAlgorithms))
+                .checksumParallelism(checksumParallelism)
+                .checksumCache(
+                        isPrecomputeChecksums() ? getChecksumPrecomputer().getChecksumCache() : createChecksumCache())
+                .checksumPrecomputer(isPrecomputeChecksums() ? getChecksumPrecomputer() : null)
+                .compressionThreads(compressionThreads)
+                .compressionPolicy(getCompressionPolicy())
+                .report(report)
+                .build();
+        List<List<org.eclipse.aether.artifact.Artifact>> bundles = ZipBundle.partition(
+                modules, maxBundleSize == null ? 0 : SizeUtils.parseSize(maxBundleSize), maxModulesPerBundle);
+        String finalDeploymentName;
+        if (deploymentName == null) {
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+            finalDeploymentName = "Deployment-" + LocalDateTime.now().format(formatter);
+        } else {
+            finalDeploymentName = deploymentName;
+        }
+        PublishingType uploadPublishingType = publishAfterValidation ? PublishingType.USER_MANAGED : publishingType;
+        if (uploadPublishingType != publishingType) {
+            log.warn("Uploading as {} to publish after the validation", uploadPublishingType);
+        }
+        DeploymentState targetState =
+                uploadPublishingType == PublishingType.USER_MANAGED && !publishAfterValidation ? VALIDATED : PUBLISHED;
+        DeploymentPoller poller = new DeploymentPoller(publisher, getPollingStrategy(), getScheduler());
+        // publishing to Maven Central takes minutes, there is no point in polling it as often as the validation
+        DeploymentPoller publishingPoller = new DeploymentPoller(
+                publisher,
+                pollingStrategy()
+                        .initialDelay(Duration.ofSeconds(5))
+                        .interval(Duration.ofSeconds(10))
+                        .stateIntervals(Collections.emptyMap())
+                        .build(),
+                getScheduler());
+        if (bundles.size() > 1) {
+            log.info("Splitting the release into {} deployments", bundles.size());
+        }
+        PublishCache cache = publishCache ? new PublishCache(publishCacheDirectory.toPath()) : null;
+
+        // Each bundle is uploaded and polled in the background while the next one is zipped.
+        List<CompletableFuture<DeploymentStatus>> results = new ArrayList<>();
+        List<CompletableFuture<DeploymentFile.Deployment>> deployments = new ArrayList<>();
+        for (int i = 0; i < bundles.size(); i++) {
+            String name = bundles.size() == 1 ? finalDeploymentName : finalDeploymentName + "-part-" + (i + 1);
+            Path bundlePath =
+                    outputDirectory.resolve(bundles.size() == 1 ? "bundle.zip" : "bundle-" + (i + 1) + ".zip");
+            List<org.eclipse.aether.artifact.Artifact> bundle = bundles.get(i);
+            String cacheKey = cache == null
+                    ? null
+                    : PublishCache.key(zipBundle.contentHash(bundle), getPublisherUri(), uploadPublishingType);
+            PublishCache.Entry cached = cacheKey == null ? null : cache.get(cacheKey);
+            if (cached != null && cached.getState() == PUBLISHED) {
+                log.info(
+                        "Skipping {}, deployment {} of the same bundle is already published",
+                        name,
+                        cached.getDeploymentId());
+                results.add(CompletableFuture.completedFuture(DeploymentStatus.builder()
+                        .deploymentId(cached.getDeploymentId())
+                        .deploymentName(cached.getDeploymentName())
+                        .deploymentState(PUBLISHED)
+                        .build()));
+                continue;
+            }
+            CompletableFuture<String> upload;
+            if (cached != null && cached.getState() != DeploymentState.FAILED) {
+                log.info(
+                        "Skipping the upload of {}, tracking deployment {} of the same bundle",
+                        name,
+                        cached.getDeploymentId());
+                upload = CompletableFuture.completedFuture(cached.getDeploymentId());
+            } else {
+                UploadSource source;
+                AtomicReference<PipedBundleInputStream> streamedBundle = new AtomicReference<>();
+                if (streamingUpload) {
+                    // a retried upload zips the bundle again
+                    source = () -> {
+                        PipedBundleInputStream inputStream = PipedBundleInputStream.open(zipBundle, bundle);
+                        streamedBundle.set(inputStream);
+                        return inputStream;
+                    };
+                } else {
+                    zipBundle.install(bundle, bundlePath);
                     log.info(
                             "Bundle {} created successfully, size: {}",
                             bundlePath,
                             FileUtils.byteCountToDisplaySize(Files.size(bundlePath)));
-                    Publisher publisher = new DefaultPublisher();
-                    PublisherConfig publisherConfig = PublisherConfig.builder()
-                            .uri(getRepositoryUri(false))
-                            .authentication(DefaultAuthentication.create(getServer(), username, password, token))
-                            .build();
-                    if (log.isDebugEnabled()) {
-                        log.debug("Publisher config: {}", publisherConfig);
-                    }
-                    log.info("Initializing publisher with url: {}", publisherConfig.getUri());
-                    publisher.initialize(publisherConfig).get();
-                    FileInputStream fileInputStream;
-                    fileInputStream = FileUtils.openInputStream(bundlePath.toFile());
-                    String finalDeploymentName;
-                    if (deploymentName == null) {
-                        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
-                        finalDeploymentName =
-                                "Deployment-" + LocalDateTime.now().format(formatter);
-                    } else {
-                        finalDeploymentName = deploymentName;
-                    }
-                    log.info(
-                            "Uploading {} with deployment name: {}, publishing type: {}",
-                            bundlePath,
-                            finalDeploymentName,
-                            publishingType);
-                    String deploymentId = publisher
-                            .upload(
-                                    finalDeploymentName,
-                                    publishingType,
-                                    bundlePath.getFileName().toString(),
-                                    fileInputStream)
-                            .get();
-                    log.info("Upload completed with deployment id: {}", deploymentId);
-                    log.info("Waiting for deployment state to {}", PUBLISHED);
-                    DeploymentStatus deploymentStatus = waitPublishState(publisher, deploymentId);
-                    DeploymentState state = deploymentStatus.getDeploymentState();
-                    if (state == PUBLISHED) {
-                        List<String> purls = deploymentStatus.getPurls();
-                        if (purls != null && !purls.isEmpty()) {
-                            log.info("Published {} PURLs:", purls.size());
-                            purls.forEach(purl -> log.info(" - {}", purl));
-                        }
-                        log.info("Published successfully, deployment id: {}", deploymentId);
-                    } else {
-                        Map<String, List<String>> errors = deploymentStatus.getErrors();
-                        if (errors != null && !errors.isEmpty()) {
-                            log.error("Deployment failed: ");
-                            errors.forEach((key, messages) -> {
-                                messages.forEach(msg -> log.error("{}: {}", key, msg));
-                            });
+                    source = UploadSource.of(bundlePath);
+                }
+                log.info(
+                        "Uploading {} with deployment name: {}, publishing type: {}",
+                        streamingUpload ? "streamed bundle" : bundlePath,
+                        name,
+                        uploadPublishingType);
+                upload = publisher
+                        .upload(
+                                name,
+                                uploadPublishingType,
+                                bundlePath.getFileName().toString(),
+                                source)
+                        .whenComplete((deploymentId, e) -> {
+                            PipedBundleInputStream inputStream = streamedBundle.get();
+                            if (inputStream != null) {
+                                log.info(
+                                        "Streamed bundle size of {}: {}",
+                                        name,
+                                        FileUtils.byteCountToDisplaySize(inputStream.getSize()));
+                            }
+                        })
+                        .thenApply(deploymentId -> {
+                            log.info("Upload of {} completed with deployment id: {}", name, deploymentId);
+                            return deploymentId;
+                        });
+                if (cacheKey != null) {
+                    upload = upload.thenApply(deploymentId -> {
+                        cache.put(cacheKey, deploymentId, name, DeploymentState.PENDING);
+                        return deploymentId;
+                    });
+                }
+            }
+            if (detached) {
+                deployments.add(upload.thenApply(deploymentId -> DeploymentFile.Deployment.builder()
+                        .deploymentId(deploymentId)
+                        .deploymentName(name)
+                        .publishingType(uploadPublishingType)
+                        .targetState(targetState)
+                        .bundle(bundlePath.getFileName().toString())
+                        .uploadedAt(Instant.now().toString())
+                        .build()));
+            } else {
+                CompletableFuture<DeploymentStatus> result;
+                if (publishAfterValidation) {
+                    PublishPipeline pipeline = new PublishPipeline(
+                            publisher,
+                            poller,
+                            publishingPoller,
+                            verifyPurls ? DeploymentGate.expectedPurls(bundle) : DeploymentGate.NONE);
+                    result = upload.thenCompose(pipeline::run);
+                } else {
+                    result = upload.thenCompose(deploymentId -> {
+                        log.info("Waiting for deployment {} state to {}", deploymentId, targetState);
+                        return poller.poll(deploymentId, targetState);
+                    });
+                }
+                if (cacheKey != null) {
+                    result = result.whenComplete((status, e) -> {
+                        if (status != null) {
+                            cache.put(cacheKey, status.getDeploymentId(), name, status.getDeploymentState());
+                        } else if (!(unwrapCompletionException(e) instanceof DeploymentTimeoutException)) {
+                            // the deployment may have been dropped, the next run uploads the bundle again
+                            cache.remove(cacheKey);
                         }
-                        throw new MojoExecutionException("Deployment failed with state: " + state);
-                    }
+                    });
                 }
+                results.add(result);
             }
-        } catch (Throwable e) {
-            throw new MojoExecutionException(e);
         }
-    }
 
-    private List<MavenProject> findProjectsWithPlugin() {
-        return session.getProjects().stream()
-                .filter((p) -> p.getPlugin(PLUGIN_NOTATION) != null)
-                .collect(Collectors.toList());
+        if (detached) {
+            writeDeploymentFile(deployments);
+            return;
+        }
+
+        int failed = 0;
+        for (CompletableFuture<DeploymentStatus> result : results) {
+            DeploymentStatus deploymentStatus;
+            try {
+                deploymentStatus = result.get();
+            } catch (ExecutionException e) {
+                Throwable cause = unwrapCompletionException(e.getCause());
+                if (cause instanceof DeploymentTimeoutException) {
+                    DeploymentStatus lastStatus = ((DeploymentTimeoutException) cause).getLastStatus();
+                    log.error(cause.getMessage());
+                    if (lastStatus != null) {
+                        logErrors(lastStatus.getErrors());
+                    }
+                } else {
+                    log.error("Deployment failed", cause);
+                }
+                failed++;
+                continue;
+            }
+            String deploymentId = deploymentStatus.getDeploymentId();
+            DeploymentState state = deploymentStatus.getDeploymentState();
+            if (state == targetState) {
+                List<String> purls = deploymentStatus.getPurls();
+                if (purls != null && !purls.isEmpty()) {
+                    log.info("Deployment {} contains {} PURLs:", deploymentId, purls.size());
+                    purls.forEach(purl -> log.info(" - {}", purl));
+                }
+                log.info("Deployment {} reached state {}", deploymentId, state);
+            } else {
+                log.error("Deployment {} failed with state: {}", deploymentId, state);
+                logErrors(deploymentStatus.getErrors());
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            throw new MojoExecutionException(failed + " of " + results.size() + " deployments failed");
+        }
     }
 
-    private boolean areAllProjectsMarked(List<MavenProject> projects) {
-        return projects.stream().allMatch(p -> {
-            PublishState publishState = getPublishState(p);
-            log.debug("{} state: {}", p, publishState);
-            return publishState != null;
-        });
+    private void writeDeploymentFile(List<CompletableFuture<DeploymentFile.Deployment>> uploads) throws Exception {
+        DeploymentFile deploymentFile = new DeploymentFile();
+        int failed = 0;
+        for (CompletableFuture<DeploymentFile.Deployment> upload : uploads) {
+            try {
+                deploymentFile.getDeployments().add(upload.get());
+            } catch (ExecutionException e) {
+                log.error("Upload failed", unwrapCompletionException(e.getCause()));
+                failed++;
+            }
+        }
+        // the uploaded deployments are recorded even when another upload failed, so they can still be tracked
+        Path file = Paths.get(session.getTopLevelProject().getBuild().getDirectory(), DeploymentFile.PATH);
+        deploymentFile.write(file);
+        log.info("Wrote {} deployments to {}", deploymentFile.getDeployments().size(), file);
+        log.info("Run the wait goal of {} to wait for them", PLUGIN_NOTATION);
+        if (failed > 0) {
+            throw new MojoExecutionException(failed + " of " + uploads.size() + " uploads failed");
+        }
     }
 
     private List<org.eclipse.aether.artifact.Artifact> getAllArtifacts(MavenProject project) {
@@ -324,48 +702,32 @@ public class PublishMojo extends AbstractMojo {
     }
 
     protected static DeploymentStatus waitPublishState(Publisher publisher, String deploymentId) throws Throwable {
-        RetryPolicy<DeploymentStatus> retryPolicy = RetryPolicy.<DeploymentStatus>builder()
-                .withDelay(Duration.ofSeconds(3))
-                .handleIf(throwable -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Failed to get deployment status for {}", deploymentId, throwable);
-                    }
-                    Throwable cause = unwrapCompletionException(throwable);
-                    if (cause instanceof HttpResponseException) {
-                        int statusCode =
-                                ((HttpResponseException) cause).getResponse().getStatusCode();
-                        if (statusCode == 404 || statusCode == 401 || statusCode == 403) {
-                            log.error("Deployment {} failed with status code: {}", deploymentId, statusCode, cause);
-                            return false;
-                        } else {
-                            return true;
-                        }
-                    }
-                    return false;
-                })
-                .handleResultIf(res -> {
-                    if (log.isDebugEnabled()) {
-                        log.debug("Received deployment status: {}", res);
-                    }
-                    if (res != null) {
-                        DeploymentState state = res.getDeploymentState();
-                        return !(state == DeploymentState.FAILED || state == DeploymentState.PUBLISHED);
-                    }
-                    return true;
-                })
-                .withMaxRetries(-1)
-                .build();
-        return Failsafe.with(retryPolicy)
-                .getStageAsync(() -> publisher.status(deploymentId))
-                .get();
+        return waitPublishState(publisher, deploymentId, PUBLISHED).get();
+    }
+
+    /**
+     * Polls the deployment with the default polling strategy until it reaches the target state, {@code PUBLISHED} or
+     * {@code FAILED}.
+     */
+    protected static CompletableFuture<DeploymentStatus> waitPublishState(
+            Publisher publisher, String deploymentId, DeploymentState targetState) {
+        return waitPublishState(publisher, deploymentId, targetState, PollingStrategy.DEFAULT);
+    }
+
+    static CompletableFuture<DeploymentStatus> waitPublishState(
+            Publisher publisher, String deploymentId, DeploymentState targetState, PollingStrategy pollingStrategy) {
+        SystemScheduler scheduler = new SystemScheduler();
+        return new DeploymentPoller(publisher, pollingStrategy, scheduler)
+                .poll(deploymentId, targetState)
+                .whenComplete((__, e) -> scheduler.close());
     }
 
     private void deploySnapshot(RepositorySystemSession repositorySystemSession, DeployRequest deployRequest) {
         RetryPolicy<Object> retryPolicy = RetryPolicy.builder()
-                .withMaxRetries(3)
-                .withDelay(Duration.ofSeconds(3))
-                .withMaxRetries(-1)
-                .onFailedAttempt(e -> log.debug("Deploy snapshot failed: {}", e))
+                .withBackoff(Duration.ofSeconds(3), Duration.ofSeconds(30))
+                .withMaxRetries(snapshotMaxRetries)
+                .onRetry(e ->
+                        log.warn("Retrying snapshot deployment, attempt {}", e.getAttemptCount(), e.getLastException()))
                 .build();
         Failsafe.with(retryPolicy).get(() -> repositorySystem.deploy(repositorySystemSession, deployRequest));
     }
@@ -0,0 +1,59 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import io.github.nodece.sonatype.central.publish.client.api.Publisher;
+import io.github.nodece.sonatype.central.publish.util.FutureUtils;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Publishes a {@code USER_MANAGED} deployment in two phases: waits until it is validated, checks the gate, publishes
+ * it and waits until it is published. Each phase is polled with its own poller.
+ */
+@Slf4j
+public class PublishPipeline {
+    private final Publisher publisher;
+    private final DeploymentPoller validationPoller;
+    private final DeploymentPoller publishingPoller;
+    private final DeploymentGate gate;
+
+    public PublishPipeline(
+            Publisher publisher,
+            DeploymentPoller validationPoller,
+            DeploymentPoller publishingPoller,
+            DeploymentGate gate) {
+        this.publisher = publisher;
+        this.validationPoller = validationPoller;
+        this.publishingPoller = publishingPoller;
+        this.gate = gate;
+    }
+
+    /**
+     * Returns the final status of the deployment, it is {@code FAILED} when the validation failed. The future fails
+     * when the gate rejects the deployment, which then stays {@code VALIDATED}.
+     */
+    public CompletableFuture<DeploymentStatus> run(String deploymentId) {
+        log.info("Waiting for deployment {} state to {}", deploymentId, DeploymentState.VALIDATED);
+        return validationPoller.poll(deploymentId, DeploymentState.VALIDATED).thenCompose(status -> {
+            if (status.getDeploymentState() != DeploymentState.VALIDATED) {
+                return CompletableFuture.completedFuture(status);
+            }
+            List<String> problems = gate.check(status);
+            if (!problems.isEmpty()) {
+                problems.forEach(problem -> log.error("Deployment {}: {}", deploymentId, problem));
+                return FutureUtils.failedFuture(new IllegalStateException("Deployment " + deploymentId
+                        + " did not pass the checks before publishing, it was not published"));
+            }
+            log.info("Publishing deployment {}", deploymentId);
+            return publisher
+                    .publish(deploymentId)
+                    .thenCompose(__ -> publishingPoller.poll(deploymentId, DeploymentState.PUBLISHED));
+        });
+    }
+}
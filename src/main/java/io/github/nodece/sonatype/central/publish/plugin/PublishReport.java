@@ -0,0 +1,198 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.Data;
+
+/**
+ * The timings and throughput of a publish run, written to {@code target/central-publish} as JSON or in the OpenMetrics
+ * text format, so the CI can collect them and compare the runs. All methods are thread safe.
+ */
+@Data
+public class PublishReport {
+    public static final String JSON_PATH = "central-publish/report.json";
+    public static final String OPEN_METRICS_PATH = "central-publish/report.prom";
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private String startedAt = Instant.now().toString();
+    private long durationMillis;
+
+    /**
+     * The phases of the run by name, for example {@code checksum}, {@code zip} and {@code upload}.
+     */
+    private final Map<String, Phase> phases = new LinkedHashMap<>();
+
+    private final Map<String, Deployment> deployments = new LinkedHashMap<>();
+
+    @Data
+    public static class Phase {
+        private int count;
+        private long totalMillis;
+    }
+
+    @Data
+    public static class Deployment {
+        private String deploymentId;
+        private String deploymentName;
+        private long uploadBytes;
+        private long uploadMillis;
+        private int uploadAttempts;
+        private int statusPolls;
+
+        /**
+         * The time the deployment spent in each state, from the first status that reported the state until the first
+         * status that reported the next one.
+         */
+        private Map<DeploymentState, Long> stateMillis = new EnumMap<>(DeploymentState.class);
+
+        private DeploymentState lastState;
+
+        @JsonIgnore
+        private long stateSince;
+
+        public double getUploadMegabytesPerSecond() {
+            return uploadMillis == 0 ? 0 : uploadBytes / 1024.0 / 1024.0 / (uploadMillis / 1000.0);
+        }
+    }
+
+    /**
+     * Adds the elapsed time since {@code startNanos} to the phase.
+     */
+    public synchronized void recordPhase(String name, long startNanos) {
+        Phase phase = phases.computeIfAbsent(name, n -> new Phase());
+        phase.count++;
+        phase.totalMillis += TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    public synchronized void recordUpload(
+            String deploymentId, String deploymentName, long bytes, int attempts, long startNanos) {
+        recordPhase("upload", startNanos);
+        Deployment deployment = deployments.computeIfAbsent(deploymentId, n -> new Deployment());
+        deployment.deploymentId = deploymentId;
+        deployment.deploymentName = deploymentName;
+        deployment.uploadBytes = bytes;
+        deployment.uploadAttempts = attempts;
+        deployment.uploadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        deployment.stateSince = System.nanoTime();
+    }
+
+    /**
+     * Records a status response, the time since the previous state was first seen is added to the previous state
+     * when the state changed.
+     */
+    public synchronized void recordStatus(String deploymentId, DeploymentState state) {
+        Deployment deployment = deployments.computeIfAbsent(deploymentId, n -> {
+            Deployment created = new Deployment();
+            created.deploymentId = n;
+            created.stateSince = System.nanoTime();
+            return created;
+        });
+        deployment.statusPolls++;
+        if (state == null || state == deployment.lastState) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (deployment.lastState != null) {
+            deployment.stateMillis.merge(
+                    deployment.lastState, TimeUnit.NANOSECONDS.toMillis(now - deployment.stateSince), Long::sum);
+        }
+        deployment.lastState = state;
+        deployment.stateSince = now;
+    }
+
+    public synchronized int getStatusPolls() {
+        return deployments.values().stream()
+                .mapToInt(Deployment::getStatusPolls)
+                .sum();
+    }
+
+    public synchronized void writeJson(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        objectMapper.writeValue(file.toFile(), this);
+    }
+
+    public synchronized void writeOpenMetrics(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(toOpenMetrics());
+        }
+    }
+
+    synchronized String toOpenMetrics() {
+        StringBuilder metrics = new StringBuilder();
+        metrics.append("# TYPE central_publish_duration_seconds gauge\n");
+        metrics.append("central_publish_duration_seconds ")
+                .append(seconds(durationMillis))
+                .append('\n');
+        metrics.append("# TYPE central_publish_phase_seconds gauge\n");
+        phases.forEach((name, phase) -> metrics.append("central_publish_phase_seconds{phase=\"")
+                .append(escape(name))
+                .append("\"} ")
+                .append(seconds(phase.totalMillis))
+                .append('\n'));
+        List<Deployment> values = new ArrayList<>(deployments.values());
+        metrics.append("# TYPE central_publish_upload_bytes gauge\n");
+        values.forEach(n -> metrics.append("central_publish_upload_bytes")
+                .append(labels(n))
+                .append(' ')
+                .append(n.uploadBytes)
+                .append('\n'));
+        metrics.append("# TYPE central_publish_upload_seconds gauge\n");
+        values.forEach(n -> metrics.append("central_publish_upload_seconds")
+                .append(labels(n))
+                .append(' ')
+                .append(seconds(n.uploadMillis))
+                .append('\n'));
+        metrics.append("# TYPE central_publish_status_polls counter\n");
+        values.forEach(n -> metrics.append("central_publish_status_polls_total")
+                .append(labels(n))
+                .append(' ')
+                .append(n.statusPolls)
+                .append('\n'));
+        metrics.append("# TYPE central_publish_state_seconds gauge\n");
+        for (Deployment deployment : values) {
+            String labels = labels(deployment);
+            deployment.stateMillis.forEach((state, millis) -> metrics.append("central_publish_state_seconds")
+                    .append(labels, 0, labels.length() - 1)
+                    .append(",state=\"")
+                    .append(state)
+                    .append("\"} ")
+                    .append(seconds(millis))
+                    .append('\n'));
+        }
+        metrics.append("# EOF\n");
+        return metrics.toString();
+    }
+
+    private static String labels(Deployment deployment) {
+        return "{deployment_id=\"" + escape(deployment.deploymentId) + "\"}";
+    }
+
+    private static String seconds(long millis) {
+        return String.format(Locale.ROOT, "%.3f", millis / 1000.0);
+    }
+
+    private static String escape(String value) {
+        return String.valueOf(value).replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import io.github.nodece.sonatype.central.publish.util.RateLimiter;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.transfer.AbstractTransferListener;
+import org.eclipse.aether.transfer.TransferCancelledException;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.util.listener.ChainedTransferListener;
+
+/**
+ * Throttles the uploads of the resolver: the transporters notify the progress of each buffer from the transferring
+ * thread, which waits here until the rate limiter allows the buffer. Downloads are not throttled.
+ */
+public class RateLimitedTransferListener extends AbstractTransferListener {
+    private final RateLimiter rateLimiter;
+
+    public RateLimitedTransferListener(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * Returns a copy of the session whose transfers are throttled, the transfer listener of the session is kept.
+     */
+    public static RepositorySystemSession limit(RepositorySystemSession session, RateLimiter rateLimiter) {
+        DefaultRepositorySystemSession limited = new DefaultRepositorySystemSession(session);
+        limited.setTransferListener(ChainedTransferListener.newInstance(
+                session.getTransferListener(), new RateLimitedTransferListener(rateLimiter)));
+        return limited;
+    }
+
+    @Override
+    public void transferProgressed(TransferEvent event) throws TransferCancelledException {
+        // the metadata downloads of a deployment do not take from the upload rate
+        if (event.getRequestType() != TransferEvent.RequestType.PUT) {
+            return;
+        }
+        try {
+            rateLimiter.acquire(event.getDataLength());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TransferCancelledException("Interrupted while waiting for the upload rate limit");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static io.github.nodece.sonatype.central.publish.plugin.Constants.PLUGIN_NOTATION;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import org.apache.maven.execution.MavenSession;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Tracks which projects of the reactor have executed the publish goal. The projects that use the plugin are found once
+ * per session, each execution then only marks its project, and the execution that marks the last project publishes
+ * the reactor.
+ */
+public class ReactorTracker {
+    private static final String KEY = ReactorTracker.class.getName();
+
+    public enum PublishState {
+        PENDING,
+        SKIPPED
+    }
+
+    private final List<MavenProject> projects;
+    private final Set<MavenProject> members;
+    private final Map<MavenProject, PublishState> states = new ConcurrentHashMap<>();
+    private final AtomicInteger remaining;
+
+    ReactorTracker(List<MavenProject> projects) {
+        this.projects = projects;
+        this.members = new HashSet<>(projects);
+        this.remaining = new AtomicInteger(projects.size());
+    }
+
+    /**
+     * Returns the tracker of the session, it is created by the first caller, usually the lifecycle participant after
+     * the projects are read.
+     */
+    public static ReactorTracker get(MavenSession session) {
+        return (ReactorTracker) session.getRepositorySession()
+                .getData()
+                .computeIfAbsent(
+                        KEY,
+                        () -> new ReactorTracker(session.getProjects().stream()
+                                .filter(p -> p.getPlugin(PLUGIN_NOTATION) != null)
+                                .collect(Collectors.toList())));
+    }
+
+    /**
+     * Records the state of the project, returns true when it is the last project of the reactor to be marked. A
+     * project marked twice keeps its first state.
+     */
+    public boolean mark(MavenProject project, PublishState state) {
+        if (states.putIfAbsent(project, state) != null) {
+            return false;
+        }
+        // a project that does not declare the plugin, for example when the goal is invoked from the command line, is
+        // not counted
+        return members.contains(project) ? remaining.decrementAndGet() == 0 : remaining.get() == 0;
+    }
+
+    /**
+     * Returns the projects marked {@code PENDING} in the reactor order.
+     */
+    public List<MavenProject> getPendingProjects() {
+        return projects.stream()
+                .filter(p -> states.get(p) == PublishState.PENDING)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import io.github.nodece.sonatype.central.publish.client.api.Publisher;
+import io.github.nodece.sonatype.central.publish.client.api.PublisherConfig;
+import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
+import io.github.nodece.sonatype.central.publish.client.api.UploadSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.io.input.ProxyInputStream;
+
+/**
+ * Records the uploads and the status responses of a publisher in a {@link PublishReport}.
+ */
+public class ReportingPublisher implements Publisher {
+    private final Publisher publisher;
+    private final PublishReport report;
+
+    public ReportingPublisher(Publisher publisher, PublishReport report) {
+        this.publisher = publisher;
+        this.report = report;
+    }
+
+    @Override
+    public CompletableFuture<Void> initialize(PublisherConfig config) {
+        return publisher.initialize(config);
+    }
+
+    @Override
+    public CompletableFuture<String> upload(
+            String deploymentName, PublishingType publishingType, String filename, InputStream inputStream) {
+        long start = System.nanoTime();
+        CountingInputStream countingInputStream = new CountingInputStream(inputStream);
+        return publisher
+                .upload(deploymentName, publishingType, filename, countingInputStream)
+                .thenApply(deploymentId -> {
+                    report.recordUpload(deploymentId, deploymentName, countingInputStream.getCount(), 1, start);
+                    return deploymentId;
+                });
+    }
+
+    @Override
+    public CompletableFuture<String> upload(
+            String deploymentName, PublishingType publishingType, String filename, UploadSource source) {
+        long start = System.nanoTime();
+        AtomicInteger attempts = new AtomicInteger(1);
+        AtomicReference<CountingInputStream> lastAttempt = new AtomicReference<>();
+        UploadSource countingSource = new UploadSource() {
+            @Override
+            public InputStream open() throws IOException {
+                CountingInputStream inputStream = new CountingInputStream(source.open());
+                lastAttempt.set(inputStream);
+                return inputStream;
+            }
+
+            @Override
+            public Path file() {
+                return source.file();
+            }
+
+            @Override
+            public long size() throws IOException {
+                return source.size();
+            }
+
+            @Override
+            public void onRetry(int failedAttempts) {
+                attempts.set(failedAttempts + 1);
+                source.onRetry(failedAttempts);
+            }
+        };
+        return publisher
+                .upload(deploymentName, publishingType, filename, countingSource)
+                .thenApply(deploymentId -> {
+                    // a file is sent without opening the source, its size is the bytes of the last attempt
+                    CountingInputStream inputStream = lastAttempt.get();
+                    report.recordUpload(
+                            deploymentId,
+                            deploymentName,
+                            inputStream == null ? sizeOf(source) : inputStream.getCount(),
+                            attempts.get(),
+                            start);
+                    return deploymentId;
+                });
+    }
+
+    /**
+     * Counts the bytes read from the stream.
+     */
+    private static class CountingInputStream extends ProxyInputStream {
+        private long count;
+
+        CountingInputStream(InputStream inputStream) {
+            super(inputStream);
+        }
+
+        @Override
+        protected synchronized void afterRead(int n) {
+            if (n > 0) {
+                count += n;
+            }
+        }
+
+        synchronized long getCount() {
+            return count;
+        }
+    }
+
+    private static long sizeOf(UploadSource source) {
+        try {
+            return source.size();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> publish(String deploymentId) {
+        long start = System.nanoTime();
+        return publisher.publish(deploymentId).thenRun(() -> report.recordPhase("publish", start));
+    }
+
+    @Override
+    public CompletableFuture<DeploymentStatus> status(String deploymentId) {
+        return publisher.status(deploymentId).thenApply(status -> {
+            report.recordStatus(deploymentId, status == null ? null : status.getDeploymentState());
+            return status;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Void> close() {
+        return publisher.close();
+    }
+}
@@ -0,0 +1,16 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import java.time.Duration;
+
+/**
+ * Runs delayed tasks, the tests replace it with a virtual clock.
+ */
+public interface Scheduler {
+    long nanoTime();
+
+    void schedule(Runnable task, Duration delay);
+}
@@ -0,0 +1,128 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import dev.failsafe.Failsafe;
+import dev.failsafe.FailsafeException;
+import dev.failsafe.RetryPolicy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.Builder;
+import lombok.extern.slf4j.Slf4j;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.repository.RemoteRepository;
+
+/**
+ * Deploys the snapshot artifacts of several modules concurrently, each module is a deploy request of its own that is
+ * retried separately. The repository system uploads the {@code maven-metadata.xml} of a request after its artifacts,
+ * so the metadata of a module is only published when all of its artifacts were uploaded.
+ */
+@Slf4j
+@Builder
+public class SnapshotDeployer {
+    private final RepositorySystem repositorySystem;
+    private final RepositorySystemSession session;
+    private final RemoteRepository repository;
+
+    /**
+     * The number of modules deployed concurrently.
+     */
+    @Builder.Default
+    private final int parallelism = 4;
+
+    @Builder.Default
+    private final int maxRetries = 3;
+
+    @Builder.Default
+    private final Duration retryDelay = Duration.ofSeconds(3);
+
+    @Builder.Default
+    private final Duration maxRetryDelay = Duration.ofSeconds(30);
+
+    /**
+     * Deploys the modules and waits for all of them, a module that fails after its retries does not stop the others.
+     *
+     * @throws DeploymentException when any module failed, the failures of the other modules are suppressed
+     */
+    public void deploy(List<List<Artifact>> modules) throws DeploymentException, InterruptedException {
+        if (modules.isEmpty()) {
+            return;
+        }
+        ExecutorService executor =
+                Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, modules.size())), threadFactory());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (List<Artifact> module : modules) {
+                futures.add(executor.submit(() -> deployModule(module)));
+            }
+            DeploymentException failure = null;
+            int failed = 0;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    // Failsafe wraps the checked exceptions of the repository system
+                    if (cause instanceof FailsafeException && cause.getCause() != null) {
+                        cause = cause.getCause();
+                    }
+                    if (failure == null) {
+                        failure = new DeploymentException("Failed to deploy snapshot artifacts", cause);
+                    } else {
+                        failure.addSuppressed(cause);
+                    }
+                    failed++;
+                }
+            }
+            if (failure != null) {
+                log.error("{} of {} modules failed to deploy", failed, modules.size());
+                throw failure;
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void deployModule(List<Artifact> module) {
+        Artifact first = module.get(0);
+        String name = first.getGroupId() + ":" + first.getArtifactId() + ":" + first.getBaseVersion();
+        RetryPolicy<Object> retryPolicy = RetryPolicy.builder()
+                .withBackoff(retryDelay, maxRetryDelay)
+                .withMaxRetries(maxRetries)
+                .onRetry(e -> log.warn(
+                        "Retrying snapshot deployment of {}, attempt {}",
+                        name,
+                        e.getAttemptCount(),
+                        e.getLastException()))
+                .build();
+        Failsafe.with(retryPolicy).run(() -> {
+            DeployRequest deployRequest = new DeployRequest();
+            module.forEach(deployRequest::addArtifact);
+            deployRequest.setRepository(repository);
+            repositorySystem.deploy(session, deployRequest);
+        });
+        log.info("Deployed {} snapshot artifacts of {}", module.size(), name);
+    }
+
+    private static ThreadFactory threadFactory() {
+        AtomicInteger threads = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "central-snapshot-deployer-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import io.github.nodece.sonatype.central.publish.client.api.Publisher;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Prints the status of existing deployments, all of them are queried concurrently through one publisher.
+ */
+@Slf4j
+@Mojo(name = "status", requiresProject = false, aggregator = true, threadSafe = true, requiresOnline = true)
+public class StatusMojo extends AbstractPublisherMojo {
+
+    /**
+     * The ids of the deployments, for example {@code -DdeploymentIds=id1,id2}.
+     */
+    @Parameter(property = "deploymentIds", required = true)
+    private List<String> deploymentIds;
+
+    /**
+     * Polls the deployments until each of them reaches the {@code targetState}, {@code PUBLISHED} or
+     * {@code FAILED}, instead of printing their current status once.
+     */
+    @Parameter(property = "wait", defaultValue = "false")
+    private boolean wait;
+
+    /**
+     * The state to wait for, {@code VALIDATED} for the {@code USER_MANAGED} deployments.
+     */
+    @Parameter(property = "targetState", defaultValue = "PUBLISHED")
+    private DeploymentState targetState;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        try {
+            Publisher publisher = createPublisher(publisherConfig().build());
+            try {
+                Map<String, CompletableFuture<DeploymentStatus>> results;
+                if (wait) {
+                    DeploymentPoller poller = new DeploymentPoller(publisher, getPollingStrategy(), getScheduler());
+                    results = track(deploymentIds, id -> poller.poll(id, targetState));
+                } else {
+                    results = track(deploymentIds, publisher::status);
+                }
+                awaitAll(results);
+                if (!summarize(results)) {
+                    throw new MojoExecutionException("Some deployments failed");
+                }
+            } finally {
+                closeScheduler();
+                publisher.close().get();
+            }
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new MojoExecutionException(e);
+        }
+    }
+
+    static Map<String, CompletableFuture<DeploymentStatus>> track(
+            Collection<String> deploymentIds, Function<String, CompletableFuture<DeploymentStatus>> status) {
+        Map<String, CompletableFuture<DeploymentStatus>> results = new LinkedHashMap<>();
+        for (String deploymentId : deploymentIds) {
+            String id = deploymentId.trim();
+            if (!id.isEmpty() && !results.containsKey(id)) {
+                results.put(id, status.apply(id));
+            }
+        }
+        return results;
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import io.github.nodece.sonatype.central.publish.client.api.UploadListener;
+import io.github.nodece.sonatype.central.publish.client.api.UploadProgress;
+import java.time.Duration;
+import java.util.Locale;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+
+/**
+ * Logs the progress of the uploads, the publisher throttles the notifications to its upload progress interval and
+ * logs the stalls itself.
+ */
+@Slf4j
+public class UploadProgressLogger implements UploadListener {
+
+    @Override
+    public void onProgress(UploadProgress progress) {
+        if (log.isInfoEnabled()) {
+            log.info(format(progress));
+        }
+    }
+
+    static String format(UploadProgress progress) {
+        StringBuilder message = new StringBuilder("Uploading ")
+                .append(progress.getFilename())
+                .append(": ")
+                .append(bytes(progress.getBytesSent()));
+        long totalBytes = progress.getTotalBytes();
+        if (totalBytes > 0) {
+            message.append(" of ")
+                    .append(bytes(totalBytes))
+                    .append(String.format(
+                            Locale.ROOT, " (%d%%)", Math.min(100, progress.getBytesSent() * 100 / totalBytes)));
+        }
+        message.append(String.format(Locale.ROOT, ", %.1f MB/s", progress.getBytesPerSecond() / 1024 / 1024));
+        Duration eta = progress.getEta();
+        if (eta != null && progress.getBytesSent() < totalBytes) {
+            message.append(String.format(Locale.ROOT, ", ETA %dm%02ds", eta.getSeconds() / 60, eta.getSeconds() % 60));
+        }
+        return message.toString();
+    }
+
+    private static String bytes(long bytes) {
+        return FileUtils.byteCountToDisplaySize(bytes);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import io.github.nodece.sonatype.central.publish.client.api.Publisher;
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+
+/**
+ * Resumes waiting for the deployments uploaded by the publish goal in detached mode.
+ */
+@Slf4j
+@Mojo(name = "wait", aggregator = true, threadSafe = true, requiresOnline = true)
+public class WaitMojo extends AbstractPublisherMojo {
+
+    /**
+     * The file written by the publish goal in detached mode.
+     */
+    @Parameter(
+            property = "deploymentFile",
+            defaultValue = "${project.build.directory}/" + DeploymentFile.PATH,
+            required = true)
+    private File deploymentFile;
+
+    @Override
+    public void execute() throws MojoExecutionException {
+        if (!deploymentFile.isFile()) {
+            throw new MojoExecutionException("Deployment file " + deploymentFile + " does not exist");
+        }
+        try {
+            DeploymentFile file = DeploymentFile.read(deploymentFile.toPath());
+            if (file.getDeployments().isEmpty()) {
+                log.info("No deployments in {}", deploymentFile);
+                return;
+            }
+            Publisher publisher = createPublisher(publisherConfig().build());
+            try {
+                DeploymentPoller poller = new DeploymentPoller(publisher, getPollingStrategy(), getScheduler());
+                Map<String, CompletableFuture<DeploymentStatus>> results = new LinkedHashMap<>();
+                for (DeploymentFile.Deployment deployment : file.getDeployments()) {
+                    log.info(
+                            "Waiting for deployment {} ({}) state to {}",
+                            deployment.getDeploymentId(),
+                            deployment.getDeploymentName(),
+                            deployment.getTargetState());
+                    results.put(
+                            deployment.getDeploymentId(),
+                            poller.poll(deployment.getDeploymentId(), deployment.getTargetState()));
+                }
+                awaitAll(results);
+                if (!summarize(results)) {
+                    throw new MojoExecutionException("Some deployments failed");
+                }
+            } finally {
+                closeScheduler();
+                publisher.close().get();
+            }
+        } catch (MojoExecutionException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new MojoExecutionException(e);
+        }
+    }
+}
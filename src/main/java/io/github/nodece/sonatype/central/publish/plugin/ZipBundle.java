@@ -4,84 +4,291 @@
  */
 package io.github.nodece.sonatype.central.publish.plugin;
 
-import static org.apache.commons.codec.digest.DigestUtils.md5Hex;
-import static org.apache.commons.codec.digest.DigestUtils.sha1Hex;
-
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.Iterator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
-import java.util.function.Function;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.zip.Deflater;
+import lombok.Builder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
-import net.lingala.zip4j.ZipFile;
-import net.lingala.zip4j.model.ZipParameters;
-import net.lingala.zip4j.model.enums.CompressionLevel;
-import org.apache.commons.io.FileUtils;
-import org.eclipse.aether.RepositorySystemSession;
+import org.apache.commons.codec.binary.Hex;
+import org.eclipse.aether.artifact.Artifact;
 
 @Slf4j
 @Data
+@Builder
 public class ZipBundle {
-    private static final Map<String, Function<InputStream, byte[]>> checkSumAlgorithms = new HashMap<>();
-
-    static {
-        checkSumAlgorithms.put("md5", is -> {
-            try {
-                return md5Hex(is).getBytes(StandardCharsets.UTF_8);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+    @Builder.Default
+    private Set<ChecksumAlgorithm> checksumAlgorithms = ChecksumAlgorithm.REQUIRED;
+
+    /**
+     * The number of files hashed concurrently, the files are hashed on the calling thread when it is 1.
+     */
+    @Builder.Default
+    private int checksumParallelism = 1;
+
+    /**
+     * The number of entries compressed concurrently, the entries are compressed on the calling thread when it is 1.
+     */
+    @Builder.Default
+    private int compressionThreads = 1;
+
+    @Builder.Default
+    private CompressionPolicy compressionPolicy = CompressionPolicy.MAXIMUM;
+
+    /**
+     * The checksums of unchanged files are read from this cache when it is set.
+     */
+    private ChecksumCache checksumCache;
+
+    /**
+     * The checksums computed in the background are used when it is set and they are ready or being computed.
+     */
+    private ChecksumPrecomputer checksumPrecomputer;
+
+    /**
+     * Records the time spent creating the checksums and zipping the entries when it is set.
+     */
+    private PublishReport report;
+
+    /**
+     * Returns the path of the artifact in the maven repository layout.
+     */
+    public static String layoutPath(Artifact artifact) {
+        StringBuilder path = new StringBuilder(128);
+        path.append(artifact.getGroupId().replace('.', '/')).append('/');
+        path.append(artifact.getArtifactId()).append('/');
+        path.append(artifact.getBaseVersion()).append('/');
+        path.append(artifact.getArtifactId()).append('-').append(artifact.getVersion());
+        if (!artifact.getClassifier().isEmpty()) {
+            path.append('-').append(artifact.getClassifier());
+        }
+        if (!artifact.getExtension().isEmpty()) {
+            path.append('.').append(artifact.getExtension());
+        }
+        return path.toString();
+    }
+
+    /**
+     * Groups the modules into bundles of at most {@code maxSize} bytes of artifact files and at most
+     * {@code maxModules} modules, the artifacts of a module are never split. A module larger than {@code maxSize}
+     * gets a bundle of its own. A limit that is not positive is unlimited.
+     */
+    public static List<List<Artifact>> partition(List<List<Artifact>> modules, long maxSize, int maxModules) {
+        List<List<Artifact>> bundles = new ArrayList<>();
+        List<Artifact> bundle = new ArrayList<>();
+        long bundleSize = 0;
+        int bundleModules = 0;
+        for (List<Artifact> module : modules) {
+            long moduleSize = 0;
+            for (Artifact artifact : module) {
+                File file = artifact.getFile();
+                moduleSize += file != null ? file.length() : 0;
             }
-        });
-        checkSumAlgorithms.put("sha1", is -> {
-            try {
-                return sha1Hex(is).getBytes(StandardCharsets.UTF_8);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
+            boolean full = (maxSize > 0 && bundleSize + moduleSize > maxSize)
+                    || (maxModules > 0 && bundleModules >= maxModules);
+            if (full && bundleModules > 0) {
+                bundles.add(bundle);
+                bundle = new ArrayList<>();
+                bundleSize = 0;
+                bundleModules = 0;
             }
-        });
+            bundle.addAll(module);
+            bundleSize += moduleSize;
+            bundleModules++;
+        }
+        if (bundleModules > 0) {
+            bundles.add(bundle);
+        }
+        return bundles;
+    }
+
+    private Map<ChecksumAlgorithm, String> checksum(Path file, Map<Path, Map<ChecksumAlgorithm, String>> checksums)
+            throws IOException {
+        Map<ChecksumAlgorithm, String> checksum = digest(file, checksumAlgorithms);
+        checksums.put(file, checksum);
+        return checksum;
     }
 
-    private static void createChecksumFile(File file) throws IOException {
-        if (file == null || file.isDirectory()) {
-            return;
+    private Map<ChecksumAlgorithm, String> digest(Path file, Set<ChecksumAlgorithm> algorithms) throws IOException {
+        if (checksumPrecomputer != null) {
+            Map<ChecksumAlgorithm, String> checksums = checksumPrecomputer.get(file, algorithms);
+            if (checksums != null) {
+                return checksums;
+            }
         }
-        String fileName = file.getName();
-        if (fileName.endsWith(".md5") || fileName.endsWith(".sha1") || fileName.endsWith(".asc")) {
-            return;
+        return checksumCache != null ? checksumCache.digest(file, algorithms) : Checksums.digest(file, algorithms);
+    }
+
+    private Map<Path, Map<ChecksumAlgorithm, String>> createChecksums(Collection<Path> files) throws IOException {
+        Map<Path, Map<ChecksumAlgorithm, String>> checksums = new ConcurrentHashMap<>();
+        if (checksumParallelism <= 1 || files.size() <= 1) {
+            for (Path file : files) {
+                checksum(file, checksums);
+            }
+            return checksums;
         }
-        Path filePath = file.toPath();
-        for (Entry<String, Function<InputStream, byte[]>> entry : checkSumAlgorithms.entrySet()) {
-            Path checksumFilePath = Paths.get(file + "." + entry.getKey());
-            try (InputStream is = Files.newInputStream(filePath)) {
-                Files.write(checksumFilePath, entry.getValue().apply(is));
+        // The largest files are submitted first, so a huge jar does not start last and leave the other workers idle.
+        List<Callable<Map<ChecksumAlgorithm, String>>> tasks = files.stream()
+                .sorted(Comparator.comparingLong((Path n) -> n.toFile().length())
+                        .reversed())
+                .map(n -> (Callable<Map<ChecksumAlgorithm, String>>) () -> checksum(n, checksums))
+                .collect(Collectors.toList());
+        ForkJoinPool pool = new ForkJoinPool(Math.min(checksumParallelism, files.size()));
+        try {
+            for (Future<Map<ChecksumAlgorithm, String>> future : pool.invokeAll(tasks)) {
+                future.get();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while creating checksums");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return checksums;
+    }
+
+    /**
+     * Returns the SHA-256 over the entry names and contents of the bundle, it is the same for two bundles of identical
+     * content regardless of the compression. Only the names of the signatures and checksums are hashed, gpg writes a
+     * new timestamp into every signature, so a rebuild of the same artifacts would never get the same hash.
+     */
+    public String contentHash(Collection<Artifact> artifacts) throws IOException {
+        MessageDigest digest = ChecksumAlgorithm.SHA256.newMessageDigest();
+        for (ChecksumAlgorithm checksumAlgorithm : checksumAlgorithms) {
+            digest.update((checksumAlgorithm.getExtension() + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        Set<ChecksumAlgorithm> sha256 = EnumSet.of(ChecksumAlgorithm.SHA256);
+        for (Entry<String, Path> entry : createEntries(artifacts).entrySet()) {
+            String fileHash = ChecksumAlgorithm.isChecksumOrSignature(entry.getKey())
+                    ? ""
+                    : digest(entry.getValue(), sha256).get(ChecksumAlgorithm.SHA256);
+            digest.update((entry.getKey() + "\0" + fileHash + "\n").getBytes(StandardCharsets.UTF_8));
         }
+        return Hex.encodeHexString(digest.digest());
     }
 
-    public static void install(RepositorySystemSession repositorySystemSession, Path path) throws IOException {
-        File file = path.toFile();
-        try (ZipFile zipFile = new ZipFile(file)) {
-            File localRepoDir = repositorySystemSession.getLocalRepository().getBasedir();
-            log.info("Creating checksum files for all files in the local repository: {}", localRepoDir);
-            Iterator<File> it = FileUtils.iterateFiles(localRepoDir, null, true);
-            while (it.hasNext()) {
-                File f = it.next();
-                createChecksumFile(f);
+    private static Map<String, Path> createEntries(Collection<Artifact> artifacts) throws IOException {
+        Map<String, Path> entries = new LinkedHashMap<>();
+        Map<String, Artifact> entryArtifacts = new HashMap<>();
+        for (Artifact artifact : artifacts) {
+            File file = artifact.getFile();
+            if (file == null || !file.isFile()) {
+                throw new IOException("Artifact " + artifact + " has no file to bundle");
             }
-            ZipParameters zipParameters = new ZipParameters();
-            zipParameters.setIncludeRootFolder(false);
-            zipParameters.setCompressionLevel(CompressionLevel.ULTRA);
-            zipParameters.setExcludeFileFilter(n -> n.getName().startsWith("maven-metadata-local.xml"));
-            zipFile.addFolder(localRepoDir, zipParameters);
-            log.debug("Added {} to {}", localRepoDir, file);
+            String path = layoutPath(artifact);
+            Artifact previous = entryArtifacts.put(path, artifact);
+            if (previous != null) {
+                throw new IOException(
+                        "Artifacts " + previous + " and " + artifact + " are both bundled to the same path " + path);
+            }
+            entries.put(path, file.toPath());
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the artifacts and their checksums to the bundle, the entries are laid out as in a maven repository, so
+     * the artifact files are read straight from the build output without being installed to a staging repository.
+     */
+    public void install(Collection<Artifact> artifacts, Path path) throws IOException {
+        install(artifacts, Files.newOutputStream(path));
+        log.debug("Wrote bundle to {}", path);
+    }
+
+    /**
+     * Writes the bundle to the output stream, the output stream is closed when this method returns.
+     */
+    public void install(Collection<Artifact> artifacts, OutputStream outputStream) throws IOException {
+        ParallelZipWriter zipWriter = null;
+        long zipStart;
+        try {
+            Map<String, Path> entries = createEntries(artifacts);
+            Set<Path> checksumFiles = entries.entrySet().stream()
+                    .filter(n -> !ChecksumAlgorithm.isChecksumOrSignature(n.getKey()))
+                    .map(Entry::getValue)
+                    .collect(Collectors.toSet());
+            log.info("Creating {} checksums for {} files", checksumAlgorithms, checksumFiles.size());
+            long checksumStart = System.nanoTime();
+            Map<Path, Map<ChecksumAlgorithm, String>> checksums = createChecksums(checksumFiles);
+            if (report != null) {
+                report.recordPhase("checksum", checksumStart);
+            }
+            if (checksumCache != null) {
+                checksumCache.save();
+                log.info("Checksum cache: {} hits, {} misses", checksumCache.getHits(), checksumCache.getMisses());
+            }
+
+            Set<String> storedEntries = new HashSet<>();
+            List<Path> deflatedFiles = new ArrayList<>();
+            for (Entry<String, Path> entry : entries.entrySet()) {
+                if (compressionPolicy.isStored(entry.getKey(), entry.getValue())) {
+                    storedEntries.add(entry.getKey());
+                } else {
+                    deflatedFiles.add(entry.getValue());
+                }
+            }
+            int level = compressionPolicy.chooseLevel(deflatedFiles, compressionThreads);
+            log.info(
+                    "Compressing {} entries with deflate level {}, storing {} already compressed entries",
+                    deflatedFiles.size(),
+                    level,
+                    storedEntries.size());
+
+            zipStart = System.nanoTime();
+            zipWriter = new ParallelZipWriter(outputStream, compressionThreads, level);
+            for (Entry<String, Path> entry : entries.entrySet()) {
+                zipWriter.add(
+                        entry.getKey(),
+                        entry.getValue(),
+                        storedEntries.contains(entry.getKey()) ? Deflater.NO_COMPRESSION : level);
+                if (!checksumFiles.contains(entry.getValue())) {
+                    continue;
+                }
+                for (Entry<ChecksumAlgorithm, String> checksum :
+                        checksums.get(entry.getValue()).entrySet()) {
+                    zipWriter.add(
+                            entry.getKey() + "." + checksum.getKey().getExtension(),
+                            checksum.getValue().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            log.debug("Added {} entries to the bundle", entries.size());
+        } finally {
+            if (zipWriter != null) {
+                zipWriter.close();
+            } else {
+                outputStream.close();
+            }
+        }
+        if (report != null) {
+            report.recordPhase("zip", zipStart);
         }
     }
 }
@@ -0,0 +1,52 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.util;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+public class DurationUtils {
+    private static final String[] UNITS = {"ms", "s", "m", "h", "d"};
+    private static final long[] UNIT_MILLIS = {1, 1000, 60 * 1000, 60 * 60 * 1000, 24 * 60 * 60 * 1000};
+
+    /**
+     * Parses a duration such as {@code 500ms}, {@code 30s}, {@code 1.5m}, {@code 2h} or {@code PT2H}, a plain number
+     * is in seconds.
+     */
+    public static Duration parseDuration(String duration) {
+        if (duration == null || duration.trim().isEmpty()) {
+            throw new IllegalArgumentException("Duration is empty");
+        }
+        String value = duration.trim().toLowerCase(Locale.ROOT);
+        if (value.startsWith("p")) {
+            try {
+                return Duration.parse(value);
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("Invalid duration: " + duration, e);
+            }
+        }
+        // "ms" is checked before "s" and "m"
+        for (int i = 0; i < UNITS.length; i++) {
+            if (value.endsWith(UNITS[i])) {
+                return parse(
+                        duration,
+                        value.substring(0, value.length() - UNITS[i].length()).trim(),
+                        UNIT_MILLIS[i]);
+            }
+        }
+        return parse(duration, value, 1000);
+    }
+
+    private static Duration parse(String duration, String number, long millis) {
+        try {
+            return Duration.ofMillis(
+                    new BigDecimal(number).multiply(BigDecimal.valueOf(millis)).longValueExact());
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid duration: " + duration, e);
+        }
+    }
+}
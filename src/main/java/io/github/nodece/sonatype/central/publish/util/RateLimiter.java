@@ -0,0 +1,79 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import org.apache.commons.io.input.ProxyInputStream;
+
+/**
+ * A token bucket that limits the bytes per second of the transfers sharing it. The bucket holds up to {@code burst}
+ * bytes, so a transfer that starts after an idle period is not throttled for the first {@code burst} bytes.
+ */
+public class RateLimiter {
+    @Getter
+    private final long bytesPerSecond;
+
+    @Getter
+    private final long burst;
+
+    private double tokens;
+    private long refilledAt = System.nanoTime();
+
+    public RateLimiter(long bytesPerSecond, long burst) {
+        if (bytesPerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + bytesPerSecond);
+        }
+        this.bytesPerSecond = bytesPerSecond;
+        this.burst = Math.max(0, burst);
+        this.tokens = this.burst;
+    }
+
+    /**
+     * Takes the bytes from the bucket and waits until they are refilled when the bucket runs short. The bytes are
+     * taken before waiting, so concurrent transfers queue behind each other instead of racing for the refill.
+     */
+    public void acquire(long bytes) throws InterruptedException {
+        long waitNanos;
+        synchronized (this) {
+            long now = System.nanoTime();
+            tokens = Math.min(burst, tokens + (now - refilledAt) * bytesPerSecond / 1e9);
+            refilledAt = now;
+            tokens -= bytes;
+            waitNanos = tokens < 0 ? (long) (-tokens * 1e9 / bytesPerSecond) : 0;
+        }
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Returns a stream that reads no faster than the limiter allows.
+     */
+    public InputStream limit(InputStream inputStream) {
+        return new ProxyInputStream(inputStream) {
+            @Override
+            protected void afterRead(int n) throws IOException {
+                if (n <= 0) {
+                    return;
+                }
+                try {
+                    acquire(n);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the upload rate limit");
+                }
+            }
+        };
+    }
+
+    @Override
+    public String toString() {
+        return "RateLimiter(bytesPerSecond=" + bytesPerSecond + ", burst=" + burst + ")";
+    }
+}
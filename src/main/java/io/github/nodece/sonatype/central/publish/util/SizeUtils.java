@@ -0,0 +1,46 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.util;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+public class SizeUtils {
+    private static final String[] UNITS = {"B", "KB", "MB", "GB", "TB"};
+
+    /**
+     * Parses a size such as {@code 512}, {@code 64KB}, {@code 10MB} or {@code 1.5GB}, the units are powers of 1024.
+     */
+    public static long parseSize(String size) {
+        if (size == null || size.trim().isEmpty()) {
+            throw new IllegalArgumentException("Size is empty");
+        }
+        String value = size.trim().toUpperCase(Locale.ROOT);
+        for (int i = UNITS.length - 1; i >= 0; i--) {
+            String unit = UNITS[i];
+            String shortUnit = unit.substring(0, 1);
+            String number = null;
+            if (value.endsWith(unit)) {
+                number = value.substring(0, value.length() - unit.length());
+            } else if (i > 0 && value.endsWith(shortUnit)) {
+                number = value.substring(0, value.length() - shortUnit.length());
+            }
+            if (number != null) {
+                return parse(size, number.trim(), 1L << (10 * i));
+            }
+        }
+        return parse(size, value, 1);
+    }
+
+    private static long parse(String size, String number, long multiplier) {
+        try {
+            return new BigDecimal(number)
+                    .multiply(BigDecimal.valueOf(multiplier))
+                    .longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            throw new IllegalArgumentException("Invalid size: " + size, e);
+        }
+    }
+}
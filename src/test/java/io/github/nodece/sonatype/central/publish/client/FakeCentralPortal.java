@@ -0,0 +1,314 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * An embedded stand-in of the Central Portal API for tests. It implements {@code publisher/upload},
+ * {@code publisher/status} and {@code publisher/deployment/{id}}, with a configurable latency, upload bandwidth,
+ * injected faults and scripted deployment states: every status request returns the current state of the deployment
+ * and moves it to the next state of its script.
+ */
+@Slf4j
+public class FakeCentralPortal implements AutoCloseable {
+    public static final List<DeploymentState> AUTOMATIC_SCRIPT = Collections.unmodifiableList(Arrays.asList(
+            DeploymentState.PENDING,
+            DeploymentState.VALIDATING,
+            DeploymentState.PUBLISHING,
+            DeploymentState.PUBLISHED));
+
+    public static final List<DeploymentState> USER_MANAGED_SCRIPT = Collections.unmodifiableList(
+            Arrays.asList(DeploymentState.PENDING, DeploymentState.VALIDATING, DeploymentState.VALIDATED));
+
+    private static final List<DeploymentState> PUBLISH_SCRIPT =
+            Collections.unmodifiableList(Arrays.asList(DeploymentState.PUBLISHING, DeploymentState.PUBLISHED));
+
+    public enum Endpoint {
+        UPLOAD,
+        STATUS,
+        PUBLISH
+    }
+
+    public enum Fault {
+        /**
+         * Answers with 503 Service Unavailable before the request body is read, as an overloaded server.
+         */
+        SERVER_ERROR,
+        /**
+         * Answers with 401 Unauthorized.
+         */
+        UNAUTHORIZED,
+        /**
+         * Closes the connection without an answer, after the request body was received.
+         */
+        DROP_CONNECTION,
+        /**
+         * Stops reading the request body until the connection is closed by the client or the portal is closed.
+         */
+        STALL
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Map<String, Deployment> deployments = new ConcurrentHashMap<>();
+    private final Map<Endpoint, Queue<Fault>> faults = new ConcurrentHashMap<>();
+    private final Map<Endpoint, AtomicInteger> requests = new ConcurrentHashMap<>();
+    private final AtomicInteger deploymentIds = new AtomicInteger();
+    private final AtomicLong bytesReceived = new AtomicLong();
+
+    /**
+     * The delay before each response.
+     */
+    @Setter
+    private volatile Duration latency = Duration.ZERO;
+
+    /**
+     * The maximum rate at which an upload body is read in bytes per second, 0 is unlimited.
+     */
+    @Setter
+    private volatile long uploadBandwidth;
+
+    /**
+     * The states of the new deployments, null is the default script of their publishing type.
+     */
+    @Setter
+    private volatile List<DeploymentState> script;
+
+    @Getter
+    private final URI uri;
+
+    public FakeCentralPortal() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.createContext("/api/v1/publisher/upload", exchange -> handle(Endpoint.UPLOAD, exchange));
+        server.createContext("/api/v1/publisher/status", exchange -> handle(Endpoint.STATUS, exchange));
+        server.createContext("/api/v1/publisher/deployment/", exchange -> handle(Endpoint.PUBLISH, exchange));
+        for (Endpoint endpoint : Endpoint.values()) {
+            faults.put(endpoint, new ConcurrentLinkedQueue<>());
+            requests.put(endpoint, new AtomicInteger());
+        }
+        server.start();
+        uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1/");
+    }
+
+    private static class Deployment {
+        private final String deploymentId;
+        private final String deploymentName;
+        private final List<DeploymentState> script;
+        private int position;
+
+        Deployment(String deploymentId, String deploymentName, List<DeploymentState> script) {
+            this.deploymentId = deploymentId;
+            this.deploymentName = deploymentName;
+            this.script = new ArrayList<>(script);
+        }
+
+        synchronized DeploymentState poll() {
+            DeploymentState state = script.get(position);
+            if (position < script.size() - 1) {
+                position++;
+            }
+            return state;
+        }
+
+        synchronized boolean publish() {
+            if (script.get(position) != DeploymentState.VALIDATED || position != script.size() - 1) {
+                return false;
+            }
+            script.addAll(PUBLISH_SCRIPT);
+            position++;
+            return true;
+        }
+    }
+
+    /**
+     * Fails the next requests of the endpoint with the faults, one fault per request.
+     */
+    public void inject(Endpoint endpoint, Fault... faults) {
+        this.faults.get(endpoint).addAll(Arrays.asList(faults));
+    }
+
+    public int getRequests(Endpoint endpoint) {
+        return requests.get(endpoint).get();
+    }
+
+    /**
+     * Returns the number of upload body bytes received, including those of failed uploads.
+     */
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    public int getDeployments() {
+        return deployments.size();
+    }
+
+    private void handle(Endpoint endpoint, HttpExchange exchange) throws IOException {
+        try {
+            requests.get(endpoint).incrementAndGet();
+            Fault fault = faults.get(endpoint).poll();
+            if (fault == Fault.STALL) {
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+                throw new IOException("Stalled");
+            } else if (fault == Fault.SERVER_ERROR) {
+                // the server closes the connection after the response when the body was not read
+                respond(exchange, 503, "Service Unavailable");
+                return;
+            }
+            long received = readBody(exchange, endpoint == Endpoint.UPLOAD ? uploadBandwidth : 0);
+            if (endpoint == Endpoint.UPLOAD) {
+                bytesReceived.addAndGet(received);
+            }
+            if (!latency.isZero()) {
+                Thread.sleep(latency.toMillis());
+            }
+            if (fault == Fault.DROP_CONNECTION) {
+                // the server closes the connection when the handler fails before sending the response headers
+                throw new IOException("Dropped connection");
+            } else if (fault == Fault.UNAUTHORIZED) {
+                respond(exchange, 401, "Unauthorized");
+            } else if (endpoint == Endpoint.UPLOAD) {
+                upload(exchange);
+            } else if (endpoint == Endpoint.STATUS) {
+                status(exchange);
+            } else {
+                publish(exchange);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private void upload(HttpExchange exchange) throws IOException {
+        Map<String, String> query = parseQuery(exchange.getRequestURI());
+        String deploymentId = "deployment-" + deploymentIds.incrementAndGet();
+        List<DeploymentState> deploymentScript = script;
+        if (deploymentScript == null) {
+            deploymentScript = PublishingType.USER_MANAGED.name().equals(query.get("publishingType"))
+                    ? USER_MANAGED_SCRIPT
+                    : AUTOMATIC_SCRIPT;
+        }
+        deployments.put(deploymentId, new Deployment(deploymentId, query.get("name"), deploymentScript));
+        respond(exchange, 201, deploymentId);
+    }
+
+    private void status(HttpExchange exchange) throws IOException {
+        Deployment deployment =
+                deployments.get(parseQuery(exchange.getRequestURI()).get("id"));
+        if (deployment == null) {
+            respond(exchange, 404, "Deployment not found");
+            return;
+        }
+        DeploymentState state = deployment.poll();
+        StringBuilder body = new StringBuilder();
+        body.append("{\"deploymentId\":\"").append(deployment.deploymentId).append('"');
+        if (deployment.deploymentName != null) {
+            body.append(",\"deploymentName\":\"")
+                    .append(deployment.deploymentName)
+                    .append('"');
+        }
+        body.append(",\"deploymentState\":\"").append(state).append('"');
+        if (state == DeploymentState.FAILED) {
+            body.append(",\"errors\":{\"common\":[\"Deployment failed\"]}");
+        }
+        body.append('}');
+        respond(exchange, 200, body.toString());
+    }
+
+    private void publish(HttpExchange exchange) throws IOException {
+        String path = exchange.getRequestURI().getPath();
+        Deployment deployment = deployments.get(path.substring(path.lastIndexOf('/') + 1));
+        if (deployment == null) {
+            respond(exchange, 404, "Deployment not found");
+        } else if (deployment.publish()) {
+            respond(exchange, 204, "");
+        } else {
+            respond(exchange, 400, "Deployment is not validated");
+        }
+    }
+
+    /**
+     * Reads the request body, no faster than the bandwidth when it is positive.
+     */
+    private static long readBody(HttpExchange exchange, long bandwidth) throws IOException, InterruptedException {
+        byte[] buffer = new byte[64 * 1024];
+        long total = 0;
+        long start = System.nanoTime();
+        try (InputStream inputStream = exchange.getRequestBody()) {
+            int n;
+            while ((n = inputStream.read(buffer)) != -1) {
+                total += n;
+                if (bandwidth > 0) {
+                    long ahead = TimeUnit.SECONDS.toNanos(total) / bandwidth - (System.nanoTime() - start);
+                    if (ahead > 0) {
+                        TimeUnit.NANOSECONDS.sleep(ahead);
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private static Map<String, String> parseQuery(URI uri) throws IOException {
+        Map<String, String> query = new HashMap<>();
+        if (uri.getRawQuery() == null) {
+            return query;
+        }
+        for (String parameter : uri.getRawQuery().split("&")) {
+            int index = parameter.indexOf('=');
+            if (index > 0) {
+                query.put(
+                        URLDecoder.decode(parameter.substring(0, index), "UTF-8"),
+                        URLDecoder.decode(parameter.substring(index + 1), "UTF-8"));
+            }
+        }
+        return query;
+    }
+
+    private static void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(statusCode, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
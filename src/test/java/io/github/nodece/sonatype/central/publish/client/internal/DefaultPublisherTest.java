@@ -0,0 +1,296 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import io.github.nodece.sonatype.central.publish.client.api.Publisher;
+import io.github.nodece.sonatype.central.publish.client.api.PublisherConfig;
+import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
+import io.github.nodece.sonatype.central.publish.client.api.UploadSource;
+import io.github.nodece.sonatype.central.publish.util.RateLimiter;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.io.IOUtils;
+import org.asynchttpclient.Response;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class DefaultPublisherTest {
+    private HttpServer server;
+    private ExecutorService executor;
+    private Publisher publisher;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        executor = Executors.newCachedThreadPool();
+        server.setExecutor(executor);
+        server.start();
+        publisher = new DefaultPublisher();
+        publisher
+                .initialize(PublisherConfig.builder()
+                        .uri(URI.create(
+                                "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1/"))
+                        .uploadRetryDelay(Duration.ofMillis(10))
+                        .uploadMaxRetryDelay(Duration.ofMillis(100))
+                        .build())
+                .get();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanup() {
+        publisher.close().join();
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, String body) throws IOException {
+        respond(exchange, 200, body);
+    }
+
+    private static void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        IOUtils.consume(exchange.getRequestBody());
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(statusCode, bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    @Test
+    public void statusDoesNotWaitForUpload() throws Exception {
+        CountDownLatch releaseUpload = new CountDownLatch(1);
+        server.createContext("/api/v1/publisher/upload", exchange -> {
+            try {
+                releaseUpload.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, "deployment-1");
+        });
+        server.createContext(
+                "/api/v1/publisher/status",
+                exchange -> respond(exchange, "{\"deploymentId\":\"deployment-1\",\"deploymentState\":\"PENDING\"}"));
+
+        CompletableFuture<String> upload = publisher.upload(
+                "demo", PublishingType.AUTOMATIC, "bundle.zip", new ByteArrayInputStream(new byte[1024]));
+        CompletableFuture<DeploymentStatus> status = publisher.status("deployment-1");
+
+        assertThat(status)
+                .succeedsWithin(10, TimeUnit.SECONDS)
+                .extracting(DeploymentStatus::getDeploymentState)
+                .isEqualTo(DeploymentState.PENDING);
+        assertThat(upload).isNotDone();
+        releaseUpload.countDown();
+        assertThat(upload).succeedsWithin(10, TimeUnit.SECONDS).isEqualTo("deployment-1");
+    }
+
+    @Test
+    public void throttledUploadDoesNotBlockStatus() throws Exception {
+        Publisher throttledPublisher = new DefaultPublisher();
+        throttledPublisher
+                .initialize(PublisherConfig.builder()
+                        .uri(URI.create(
+                                "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1/"))
+                        .uploadRateLimiter(new RateLimiter(256 * 1024, 0))
+                        .build())
+                .get();
+        server.createContext("/api/v1/publisher/upload", exchange -> respond(exchange, "deployment-1"));
+        server.createContext(
+                "/api/v1/publisher/status",
+                exchange -> respond(exchange, "{\"deploymentId\":\"deployment-1\",\"deploymentState\":\"PENDING\"}"));
+        Set<String> readers = ConcurrentHashMap.newKeySet();
+        CountDownLatch uploading = new CountDownLatch(1);
+        InputStream inputStream = new FilterInputStream(new ByteArrayInputStream(new byte[1024 * 1024])) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                readers.add(Thread.currentThread().getName());
+                uploading.countDown();
+                return super.read(b, off, len);
+            }
+        };
+        try {
+            // 1 MB at 256 KB/s
+            CompletableFuture<String> upload =
+                    throttledPublisher.upload("demo", PublishingType.AUTOMATIC, "bundle.zip", inputStream);
+            assertThat(uploading.await(10, TimeUnit.SECONDS)).isTrue();
+
+            assertThat(throttledPublisher.status("deployment-1"))
+                    .succeedsWithin(2, TimeUnit.SECONDS)
+                    .extracting(DeploymentStatus::getDeploymentState)
+                    .isEqualTo(DeploymentState.PENDING);
+            assertThat(upload).isNotDone();
+            assertThat(upload).succeedsWithin(30, TimeUnit.SECONDS).isEqualTo("deployment-1");
+            assertThat(readers).allSatisfy(n -> assertThat(n).startsWith("central-upload-feeder"));
+        } finally {
+            throttledPublisher.close().join();
+        }
+    }
+
+    @Test
+    public void slowStreamDoesNotBlockStatus() throws Exception {
+        server.createContext("/api/v1/publisher/upload", exchange -> respond(exchange, "deployment-1"));
+        server.createContext(
+                "/api/v1/publisher/status",
+                exchange -> respond(exchange, "{\"deploymentId\":\"deployment-1\",\"deploymentState\":\"PENDING\"}"));
+        Set<String> readers = ConcurrentHashMap.newKeySet();
+        CountDownLatch uploading = new CountDownLatch(1);
+        CountDownLatch releaseStream = new CountDownLatch(1);
+        // a piped bundle blocks the reader until the writer has zipped more of it
+        InputStream inputStream = new FilterInputStream(new ByteArrayInputStream(new byte[1024 * 1024])) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                readers.add(Thread.currentThread().getName());
+                uploading.countDown();
+                try {
+                    releaseStream.await(30, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException();
+                }
+                return super.read(b, off, len);
+            }
+        };
+
+        CompletableFuture<String> upload =
+                publisher.upload("demo", PublishingType.AUTOMATIC, "bundle.zip", inputStream);
+        assertThat(uploading.await(10, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(publisher.status("deployment-1"))
+                .succeedsWithin(2, TimeUnit.SECONDS)
+                .extracting(DeploymentStatus::getDeploymentState)
+                .isEqualTo(DeploymentState.PENDING);
+        assertThat(upload).isNotDone();
+        releaseStream.countDown();
+        assertThat(upload).succeedsWithin(30, TimeUnit.SECONDS).isEqualTo("deployment-1");
+        assertThat(readers).allSatisfy(n -> assertThat(n).startsWith("central-upload-feeder"));
+    }
+
+    @Test
+    public void concurrentRequestsOverlap() throws Exception {
+        int requests = 4;
+        AtomicInteger active = new AtomicInteger();
+        AtomicInteger maxActive = new AtomicInteger();
+        CountDownLatch allArrived = new CountDownLatch(requests);
+        server.createContext("/api/v1/publisher/status", exchange -> {
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            allArrived.countDown();
+            try {
+                allArrived.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            active.decrementAndGet();
+            respond(exchange, "{\"deploymentState\":\"PUBLISHED\"}");
+        });
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[requests];
+        for (int i = 0; i < requests; i++) {
+            futures[i] = publisher.status("deployment-" + i);
+        }
+
+        assertThat(CompletableFuture.allOf(futures)).succeedsWithin(10, TimeUnit.SECONDS);
+        assertThat(maxActive.get()).isEqualTo(requests);
+    }
+
+    @Test
+    public void uploadIsRetriedFromSource() throws Exception {
+        // larger than the socket buffers, so the rejected attempts cannot send the whole body
+        byte[] content = new byte[64 * 1024 * 1024];
+        new Random(0).nextBytes(content);
+        AtomicInteger opened = new AtomicInteger();
+        UploadSource source = () -> {
+            opened.incrementAndGet();
+            return new ByteArrayInputStream(content);
+        };
+        List<Long> received = Collections.synchronizedList(new ArrayList<>());
+        AtomicInteger attempts = new AtomicInteger();
+        server.createContext("/api/v1/publisher/upload", exchange -> {
+            if (attempts.incrementAndGet() < 3) {
+                // rejected before the body is read, the server closes the connection
+                exchange.sendResponseHeaders(503, -1);
+                exchange.close();
+            } else {
+                received.add(IOUtils.consume(exchange.getRequestBody()));
+                respond(exchange, "deployment-1");
+            }
+        });
+
+        assertThat(publisher.upload("demo", PublishingType.AUTOMATIC, "bundle.zip", source))
+                .succeedsWithin(30, TimeUnit.SECONDS)
+                .isEqualTo("deployment-1");
+        assertThat(attempts).hasValue(3);
+        assertThat(opened).hasValue(3);
+        assertThat(received).singleElement().satisfies(n -> assertThat(n).isGreaterThan(content.length));
+    }
+
+    @Test
+    public void uploadIsNotRetriedOnClientError() {
+        AtomicInteger attempts = new AtomicInteger();
+        server.createContext("/api/v1/publisher/upload", exchange -> {
+            attempts.incrementAndGet();
+            respond(exchange, 400, "invalid bundle");
+        });
+
+        assertThat(publisher.upload(
+                        "demo", PublishingType.AUTOMATIC, "bundle.zip", () -> new ByteArrayInputStream(new byte[16])))
+                .failsWithin(10, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(HttpResponseException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    @Test
+    public void uploadIsNotRetriedOnceTheBodyWasSent() {
+        ConnectException connectionLost = new ConnectException("Connection reset");
+        assertThat(DefaultPublisher.isRetryableUpload(connectionLost, false)).isTrue();
+        assertThat(DefaultPublisher.isRetryableUpload(new CompletionException(connectionLost), true))
+                .isFalse();
+        assertThat(DefaultPublisher.isRetryableUpload(httpError(503), false)).isTrue();
+        assertThat(DefaultPublisher.isRetryableUpload(httpError(429), false)).isTrue();
+        assertThat(DefaultPublisher.isRetryableUpload(httpError(502), true)).isFalse();
+        assertThat(DefaultPublisher.isRetryableUpload(httpError(503), true)).isFalse();
+        assertThat(DefaultPublisher.isRetryableUpload(httpError(504), false)).isTrue();
+        assertThat(DefaultPublisher.isRetryableUpload(httpError(504), true)).isFalse();
+        assertThat(DefaultPublisher.isRetryableUpload(httpError(401), false)).isFalse();
+    }
+
+    private static HttpResponseException httpError(int statusCode) {
+        Response response = mock(Response.class);
+        when(response.getStatusCode()).thenReturn(statusCode);
+        return new HttpResponseException(response);
+    }
+}
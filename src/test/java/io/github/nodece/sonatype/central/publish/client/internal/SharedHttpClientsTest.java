@@ -0,0 +1,78 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.client.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.nodece.sonatype.central.publish.client.FakeCentralPortal;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import io.github.nodece.sonatype.central.publish.client.api.Publisher;
+import io.github.nodece.sonatype.central.publish.client.api.PublisherConfig;
+import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
+import java.io.ByteArrayInputStream;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+
+public class SharedHttpClientsTest {
+
+    @Test
+    public void clientsAreSharedUntilClosed() throws Exception {
+        SharedHttpClients sharedHttpClients = new SharedHttpClients();
+        try (FakeCentralPortal portal = new FakeCentralPortal()) {
+            PublisherConfig config =
+                    PublisherConfig.builder().uri(portal.getUri()).build();
+            HttpClient client = sharedHttpClients.get(config);
+            assertThat(sharedHttpClients.get(PublisherConfig.builder()
+                            .uri(portal.getUri())
+                            .uploadMaxRetries(5)
+                            .build()))
+                    .isSameAs(client);
+            HttpClient unbuffered = sharedHttpClients.get(PublisherConfig.builder()
+                    .uri(portal.getUri())
+                    .tcpNoDelay(false)
+                    .socketSendBufferSize(256 * 1024)
+                    .build());
+            assertThat(unbuffered).isNotSameAs(client);
+
+            // each execution creates a publisher, closing it keeps the shared client open for the next one
+            for (int i = 0; i < 2; i++) {
+                Publisher publisher = new DefaultPublisher(sharedHttpClients);
+                publisher.initialize(config).get();
+                String deploymentId = publisher
+                        .upload("demo", PublishingType.AUTOMATIC, "bundle.zip", new ByteArrayInputStream(new byte[] {
+                            1, 2, 3
+                        }))
+                        .get(10, TimeUnit.SECONDS);
+                assertThat(publisher.status(deploymentId).get(10, TimeUnit.SECONDS))
+                        .extracting(DeploymentStatus::getDeploymentState)
+                        .isEqualTo(DeploymentState.PENDING);
+                publisher.close().get();
+                assertThat(client.isClosed()).isFalse();
+            }
+
+            sharedHttpClients.close();
+            assertThat(client.isClosed()).isTrue();
+            assertThat(unbuffered.isClosed()).isTrue();
+            assertThatThrownBy(() -> sharedHttpClients.get(config)).isInstanceOf(IllegalStateException.class);
+        } finally {
+            sharedHttpClients.close();
+        }
+    }
+
+    @Test
+    public void ownClientIsClosedWithThePublisher() throws Exception {
+        try (FakeCentralPortal portal = new FakeCentralPortal()) {
+            DefaultPublisher publisher = new DefaultPublisher();
+            publisher
+                    .initialize(PublisherConfig.builder().uri(portal.getUri()).build())
+                    .get();
+            HttpClient client = publisher.getHttpClient();
+            publisher.close().get();
+            assertThat(client.isClosed()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,388 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.nodece.sonatype.central.publish.client.FakeCentralPortal;
+import io.github.nodece.sonatype.central.publish.client.FakeCentralPortal.Endpoint;
+import io.github.nodece.sonatype.central.publish.client.FakeCentralPortal.Fault;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import io.github.nodece.sonatype.central.publish.client.api.Publisher;
+import io.github.nodece.sonatype.central.publish.client.api.PublisherConfig;
+import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
+import io.github.nodece.sonatype.central.publish.client.api.UploadListener;
+import io.github.nodece.sonatype.central.publish.client.api.UploadProgress;
+import io.github.nodece.sonatype.central.publish.client.api.UploadSource;
+import io.github.nodece.sonatype.central.publish.client.internal.DefaultPublisher;
+import io.github.nodece.sonatype.central.publish.client.internal.HttpResponseException;
+import io.github.nodece.sonatype.central.publish.util.RateLimiter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Uploads and tracks deployments end to end against a {@link FakeCentralPortal}. The multi-GB soak test is in the
+ * {@code soak} group, which only runs with {@code -Psoak}, its size is set with {@code -DfakePortal.soakSize}.
+ */
+@Slf4j
+public class CentralPortalEndToEndTest {
+    private FakeCentralPortal portal;
+    private Publisher publisher;
+    private SystemScheduler scheduler;
+    private DeploymentPoller poller;
+
+    @BeforeMethod(alwaysRun = true)
+    public void setup() throws Exception {
+        portal = new FakeCentralPortal();
+        publisher = new DefaultPublisher();
+        publisher
+                .initialize(PublisherConfig.builder()
+                        .uri(portal.getUri())
+                        .uploadRetryDelay(Duration.ofMillis(10))
+                        .uploadMaxRetryDelay(Duration.ofMillis(100))
+                        .build())
+                .get();
+        PollingStrategy strategy = PollingStrategy.builder()
+                .initialDelay(Duration.ofMillis(1))
+                .interval(Duration.ofMillis(10))
+                .stateIntervals(Collections.emptyMap())
+                .timeout(Duration.ofSeconds(30))
+                .build();
+        scheduler = new SystemScheduler();
+        poller = new DeploymentPoller(publisher, strategy, scheduler);
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanup() {
+        scheduler.close();
+        publisher.close().join();
+        portal.close();
+    }
+
+    /**
+     * A bundle of the given size that is generated while it is read, so a multi-GB upload needs no disk space.
+     */
+    private static UploadSource bundle(long size) {
+        return () -> new InputStream() {
+            private long remaining = size;
+
+            @Override
+            public int read() {
+                return remaining-- > 0 ? (int) (remaining & 0x7f) : -1;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) {
+                if (remaining <= 0) {
+                    return -1;
+                }
+                int n = (int) Math.min(len, remaining);
+                Arrays.fill(b, off, off + n, (byte) (remaining & 0x7f));
+                remaining -= n;
+                return n;
+            }
+        };
+    }
+
+    private String upload(long size, PublishingType publishingType) throws Exception {
+        long start = System.nanoTime();
+        String deploymentId = publisher
+                .upload("demo", publishingType, "bundle.zip", bundle(size))
+                .get(10, TimeUnit.MINUTES);
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.info(
+                "Uploaded {} in {} s, {} MB/s",
+                FileUtils.byteCountToDisplaySize(size),
+                String.format("%.2f", seconds),
+                String.format("%.1f", size / seconds / 1024 / 1024));
+        return deploymentId;
+    }
+
+    @Test
+    public void deploymentIsUploadedAndPublished() throws Exception {
+        long size = 64L * 1024 * 1024;
+        String deploymentId = upload(size, PublishingType.AUTOMATIC);
+
+        assertThat(poller.poll(deploymentId, DeploymentState.PUBLISHED))
+                .succeedsWithin(10, TimeUnit.SECONDS)
+                .extracting(DeploymentStatus::getDeploymentState)
+                .isEqualTo(DeploymentState.PUBLISHED);
+        assertThat(portal.getBytesReceived()).isGreaterThan(size);
+        // one poll per scripted state
+        assertThat(portal.getRequests(Endpoint.STATUS)).isEqualTo(FakeCentralPortal.AUTOMATIC_SCRIPT.size());
+    }
+
+    @Test
+    public void fileIsUploadedWithoutItsStream() throws Exception {
+        long size = 32L * 1024 * 1024;
+        Path file = Files.createTempFile("bundle-", ".zip");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(file);
+                    InputStream inputStream = bundle(size).open()) {
+                IOUtils.copy(inputStream, outputStream);
+            }
+            UploadSource source = UploadSource.of(file);
+            String deploymentId = publisher
+                    .upload("demo", PublishingType.AUTOMATIC, "bundle.zip", new UploadSource() {
+                        @Override
+                        public InputStream open() {
+                            throw new AssertionError("The file must not be read through a stream");
+                        }
+
+                        @Override
+                        public Path file() {
+                            return source.file();
+                        }
+
+                        @Override
+                        public long size() throws IOException {
+                            return source.size();
+                        }
+                    })
+                    .get(1, TimeUnit.MINUTES);
+
+            assertThat(poller.poll(deploymentId, DeploymentState.PUBLISHED))
+                    .succeedsWithin(10, TimeUnit.SECONDS)
+                    .extracting(DeploymentStatus::getDeploymentState)
+                    .isEqualTo(DeploymentState.PUBLISHED);
+            assertThat(portal.getBytesReceived()).isGreaterThan(size);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void uploadIsLimitedByTheBandwidth() throws Exception {
+        long size = 8L * 1024 * 1024;
+        portal.setUploadBandwidth(16L * 1024 * 1024);
+        long start = System.nanoTime();
+
+        upload(size, PublishingType.AUTOMATIC);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isGreaterThanOrEqualTo(450);
+    }
+
+    @Test
+    public void progressIsReportedAndStalledUploadIsRetried() throws Exception {
+        Publisher stallingPublisher = new DefaultPublisher();
+        List<UploadProgress> progress = new CopyOnWriteArrayList<>();
+        List<UploadProgress> stalls = new CopyOnWriteArrayList<>();
+        stallingPublisher
+                .initialize(PublisherConfig.builder()
+                        .uri(portal.getUri())
+                        .uploadRetryDelay(Duration.ofMillis(10))
+                        .uploadMaxRetryDelay(Duration.ofMillis(100))
+                        .uploadProgressInterval(Duration.ofMillis(50))
+                        .uploadStallTimeout(Duration.ofMillis(500))
+                        .uploadListener(new UploadListener() {
+                            @Override
+                            public void onProgress(UploadProgress uploadProgress) {
+                                progress.add(uploadProgress);
+                            }
+
+                            @Override
+                            public void onStall(UploadProgress uploadProgress) {
+                                stalls.add(uploadProgress);
+                            }
+                        })
+                        .build())
+                .get();
+        try {
+            long size = 64L * 1024 * 1024;
+            portal.inject(Endpoint.UPLOAD, Fault.STALL);
+            portal.setUploadBandwidth(128L * 1024 * 1024);
+            UploadSource source = bundle(size);
+
+            stallingPublisher
+                    .upload("demo", PublishingType.AUTOMATIC, "bundle.zip", new UploadSource() {
+                        @Override
+                        public InputStream open() throws IOException {
+                            return source.open();
+                        }
+
+                        @Override
+                        public long size() {
+                            return size;
+                        }
+                    })
+                    .get(1, TimeUnit.MINUTES);
+
+            assertThat(portal.getRequests(Endpoint.UPLOAD)).isEqualTo(2);
+            assertThat(stalls).hasSize(1);
+            assertThat(stalls.get(0).getBytesSent()).isLessThan(size);
+            assertThat(progress).hasSizeGreaterThan(2);
+            UploadProgress last = progress.get(progress.size() - 1);
+            assertThat(last.getTotalBytes()).isEqualTo(size);
+            assertThat(last.getBytesSent()).isGreaterThan(size);
+            assertThat(progress)
+                    .filteredOn(n -> n.getBytesSent() < n.getTotalBytes() && n.getBytesPerSecond() > 0)
+                    .allSatisfy(n -> assertThat(n.getEta()).isNotNull());
+        } finally {
+            stallingPublisher.close().join();
+        }
+    }
+
+    @Test
+    public void stalledFileUploadIsRetried() throws Exception {
+        Publisher stallingPublisher = new DefaultPublisher();
+        List<UploadProgress> stalls = new CopyOnWriteArrayList<>();
+        stallingPublisher
+                .initialize(PublisherConfig.builder()
+                        .uri(portal.getUri())
+                        .uploadRetryDelay(Duration.ofMillis(10))
+                        .uploadMaxRetryDelay(Duration.ofMillis(100))
+                        .uploadStallTimeout(Duration.ofMillis(500))
+                        .uploadListener(new UploadListener() {
+                            @Override
+                            public void onProgress(UploadProgress uploadProgress) {}
+
+                            @Override
+                            public void onStall(UploadProgress uploadProgress) {
+                                stalls.add(uploadProgress);
+                            }
+                        })
+                        .build())
+                .get();
+        long size = 64L * 1024 * 1024;
+        Path file = Files.createTempFile("bundle-", ".zip");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(file);
+                    InputStream inputStream = bundle(size).open()) {
+                IOUtils.copy(inputStream, outputStream);
+            }
+            portal.inject(Endpoint.UPLOAD, Fault.STALL);
+
+            stallingPublisher
+                    .upload("demo", PublishingType.AUTOMATIC, "bundle.zip", UploadSource.of(file))
+                    .get(1, TimeUnit.MINUTES);
+
+            assertThat(portal.getRequests(Endpoint.UPLOAD)).isEqualTo(2);
+            assertThat(stalls).hasSize(1);
+            assertThat(portal.getBytesReceived()).isGreaterThan(size);
+        } finally {
+            stallingPublisher.close().join();
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void uploadRateIsLimited() throws Exception {
+        long bytesPerSecond = 2L * 1024 * 1024;
+        long burst = 256 * 1024;
+        Publisher limitedPublisher = new DefaultPublisher();
+        limitedPublisher
+                .initialize(PublisherConfig.builder()
+                        .uri(portal.getUri())
+                        .uploadRateLimiter(new RateLimiter(bytesPerSecond, burst))
+                        .build())
+                .get();
+        try {
+            long size = 4L * 1024 * 1024;
+            long start = System.nanoTime();
+            limitedPublisher
+                    .upload("demo", PublishingType.AUTOMATIC, "bundle.zip", bundle(size))
+                    .get(1, TimeUnit.MINUTES);
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            // the burst is sent at full speed, the rest at the limit
+            double rate = (size - burst) / seconds;
+            assertThat(rate).isBetween(bytesPerSecond * 0.85, bytesPerSecond * 1.05);
+            assertThat(portal.getBytesReceived()).isGreaterThan(size);
+        } finally {
+            limitedPublisher.close().join();
+        }
+    }
+
+    @Test
+    public void serverErrorsAreRetried() throws Exception {
+        portal.inject(Endpoint.UPLOAD, Fault.SERVER_ERROR, Fault.SERVER_ERROR);
+        portal.inject(Endpoint.STATUS, Fault.SERVER_ERROR, Fault.DROP_CONNECTION);
+        portal.setLatency(Duration.ofMillis(20));
+
+        // larger than the socket buffers, so the rejected attempts cannot send the whole body
+        String deploymentId = upload(64L * 1024 * 1024, PublishingType.AUTOMATIC);
+
+        assertThat(poller.poll(deploymentId, DeploymentState.PUBLISHED))
+                .succeedsWithin(10, TimeUnit.SECONDS)
+                .extracting(DeploymentStatus::getDeploymentState)
+                .isEqualTo(DeploymentState.PUBLISHED);
+        assertThat(portal.getRequests(Endpoint.UPLOAD)).isEqualTo(3);
+        assertThat(portal.getDeployments()).isEqualTo(1);
+        assertThat(portal.getRequests(Endpoint.STATUS)).isEqualTo(2 + FakeCentralPortal.AUTOMATIC_SCRIPT.size());
+    }
+
+    @Test
+    public void uploadIsNotRetriedAfterTheBodyWasReceived() {
+        portal.inject(Endpoint.UPLOAD, Fault.DROP_CONNECTION);
+
+        assertThat(publisher.upload("demo", PublishingType.AUTOMATIC, "bundle.zip", bundle(1024)))
+                .failsWithin(10, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class);
+        assertThat(portal.getRequests(Endpoint.UPLOAD)).isEqualTo(1);
+    }
+
+    @Test
+    public void unauthorizedUploadFails() {
+        portal.inject(Endpoint.UPLOAD, Fault.UNAUTHORIZED);
+
+        assertThat(publisher.upload("demo", PublishingType.AUTOMATIC, "bundle.zip", bundle(1024)))
+                .failsWithin(10, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(HttpResponseException.class);
+        assertThat(portal.getRequests(Endpoint.UPLOAD)).isEqualTo(1);
+    }
+
+    @Test
+    public void failedDeploymentStopsPolling() throws Exception {
+        portal.setScript(Arrays.asList(DeploymentState.PENDING, DeploymentState.VALIDATING, DeploymentState.FAILED));
+        String deploymentId = upload(1024, PublishingType.AUTOMATIC);
+
+        DeploymentStatus status =
+                poller.poll(deploymentId, DeploymentState.PUBLISHED).get(10, TimeUnit.SECONDS);
+        assertThat(status.getDeploymentState()).isEqualTo(DeploymentState.FAILED);
+        assertThat(status.getErrors()).containsKey("common");
+        assertThat(portal.getRequests(Endpoint.STATUS)).isEqualTo(3);
+    }
+
+    @Test
+    public void userManagedDeploymentIsPublishedAfterValidation() throws Exception {
+        String deploymentId = upload(1024, PublishingType.USER_MANAGED);
+
+        assertThat(new PublishPipeline(publisher, poller, poller, DeploymentGate.NONE).run(deploymentId))
+                .succeedsWithin(10, TimeUnit.SECONDS)
+                .extracting(DeploymentStatus::getDeploymentState)
+                .isEqualTo(DeploymentState.PUBLISHED);
+        assertThat(portal.getRequests(Endpoint.PUBLISH)).isEqualTo(1);
+    }
+
+    @Test(groups = "soak")
+    public void multiGigabyteDeployment() throws Exception {
+        long size = Long.getLong("fakePortal.soakSize", 4L * 1024 * 1024 * 1024);
+        String deploymentId = upload(size, PublishingType.AUTOMATIC);
+
+        assertThat(poller.poll(deploymentId, DeploymentState.PUBLISHED))
+                .succeedsWithin(1, TimeUnit.MINUTES)
+                .extracting(DeploymentStatus::getDeploymentState)
+                .isEqualTo(DeploymentState.PUBLISHED);
+        assertThat(portal.getBytesReceived()).isGreaterThan(size);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.EnumSet;
+import java.util.Set;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ChecksumCacheTest {
+    private static final Set<ChecksumAlgorithm> ALGORITHMS = EnumSet.of(ChecksumAlgorithm.MD5, ChecksumAlgorithm.SHA1);
+
+    private Path workDirectory;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        workDirectory = Files.createTempDirectory("checksum-cache-test-");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanup() {
+        FileUtils.deleteQuietly(workDirectory.toFile());
+    }
+
+    private Path write(Path file, String content, long lastModified) throws Exception {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(lastModified));
+        return file;
+    }
+
+    @Test
+    public void unchangedFileIsNotReadAgain() throws Exception {
+        Path cacheDirectory = workDirectory.resolve("cache");
+        long lastModified = System.currentTimeMillis() - 60_000;
+        Path file = write(workDirectory.resolve("demo.jar"), "content", lastModified);
+
+        ChecksumCache cache = new ChecksumCache(cacheDirectory);
+        assertThat(cache.digest(file, ALGORITHMS)).containsEntry(ChecksumAlgorithm.MD5, DigestUtils.md5Hex("content"));
+        cache.save();
+        assertThat(cache.getMisses()).isEqualTo(1);
+
+        cache = new ChecksumCache(cacheDirectory);
+        assertThat(cache.digest(file, ALGORITHMS))
+                .containsEntry(ChecksumAlgorithm.MD5, DigestUtils.md5Hex("content"))
+                .containsEntry(ChecksumAlgorithm.SHA1, DigestUtils.sha1Hex("content"));
+        assertThat(cache.digest(file, EnumSet.of(ChecksumAlgorithm.SHA1))).containsOnlyKeys(ChecksumAlgorithm.SHA1);
+        assertThat(cache.getHits()).isEqualTo(2);
+
+        // an algorithm that was not computed before is a miss
+        assertThat(cache.digest(file, EnumSet.of(ChecksumAlgorithm.SHA256)))
+                .containsEntry(ChecksumAlgorithm.SHA256, DigestUtils.sha256Hex("content"));
+        assertThat(cache.getMisses()).isEqualTo(1);
+
+        // a changed modification time or size invalidates the entry
+        write(file, "changed", lastModified + 1000);
+        assertThat(cache.digest(file, ALGORITHMS)).containsEntry(ChecksumAlgorithm.MD5, DigestUtils.md5Hex("changed"));
+        write(file, "changed!", lastModified + 1000);
+        assertThat(cache.digest(file, ALGORITHMS)).containsEntry(ChecksumAlgorithm.MD5, DigestUtils.md5Hex("changed!"));
+        assertThat(cache.getMisses()).isEqualTo(3);
+    }
+
+    @Test
+    public void recentlyModifiedFileIsNotCached() throws Exception {
+        Path file = write(workDirectory.resolve("demo.jar"), "content", System.currentTimeMillis());
+
+        ChecksumCache cache = new ChecksumCache(workDirectory.resolve("cache"));
+        cache.digest(file, ALGORITHMS);
+        cache.digest(file, ALGORITHMS);
+        assertThat(cache.getHits()).isZero();
+        assertThat(cache.getMisses()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.concurrent.RejectedExecutionException;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.execution.MavenSession;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.testng.annotations.Test;
+
+public class ChecksumPrecomputerTest {
+
+    @Test
+    public void precomputedChecksumsMatchUnlessTheFileChanged() throws Exception {
+        Path directory = Files.createTempDirectory("checksum-precomputer-test-");
+        ChecksumPrecomputer precomputer = new ChecksumPrecomputer(2, null);
+        try {
+            Path jar = directory.resolve("demo.jar");
+            Path pom = directory.resolve("demo.pom");
+            Files.write(jar, "jar".getBytes(StandardCharsets.UTF_8));
+            Files.write(pom, "pom".getBytes(StandardCharsets.UTF_8));
+            precomputer.submit(Arrays.asList(jar, pom), ChecksumAlgorithm.REQUIRED);
+
+            assertThat(precomputer.get(jar, ChecksumAlgorithm.REQUIRED))
+                    .containsEntry(ChecksumAlgorithm.MD5, DigestUtils.md5Hex("jar"))
+                    .containsEntry(ChecksumAlgorithm.SHA1, DigestUtils.sha1Hex("jar"));
+            assertThat(precomputer.get(pom, EnumSet.of(ChecksumAlgorithm.SHA1)))
+                    .containsOnlyKeys(ChecksumAlgorithm.SHA1);
+            assertThat(precomputer.get(pom, EnumSet.of(ChecksumAlgorithm.SHA256)))
+                    .isNull();
+            assertThat(precomputer.get(directory.resolve("other.jar"), ChecksumAlgorithm.REQUIRED))
+                    .isNull();
+
+            Files.write(jar, "changed".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(jar, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+            assertThat(precomputer.get(jar, ChecksumAlgorithm.REQUIRED)).isNull();
+        } finally {
+            precomputer.shutdown();
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+
+    @Test
+    public void precomputerIsShutDownAtTheEndOfTheSession() throws Exception {
+        MavenSession session = mock(MavenSession.class);
+        when(session.getRepositorySession()).thenReturn(new DefaultRepositorySystemSession());
+        ChecksumPrecomputer precomputer = ChecksumPrecomputer.get(session, 1, null);
+        assertThat(ChecksumPrecomputer.get(session, 1, null)).isSameAs(precomputer);
+
+        new HookDeployLifecycleParticipant().afterSessionEnd(session);
+
+        Path file = Files.createTempFile("checksum-precomputer-test-", ".jar");
+        try {
+            assertThatThrownBy(() -> precomputer.submit(Collections.singletonList(file), ChecksumAlgorithm.REQUIRED))
+                    .isInstanceOf(RejectedExecutionException.class);
+            assertThat(ChecksumPrecomputer.get(session, 1, null)).isNotSameAs(precomputer);
+        } finally {
+            ChecksumPrecomputer.shutdown(session);
+            Files.delete(file);
+        }
+    }
+}
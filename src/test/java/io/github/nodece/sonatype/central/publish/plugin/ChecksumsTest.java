@@ -0,0 +1,59 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Random;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+public class ChecksumsTest {
+
+    @DataProvider
+    public Object[][] fileSizes() {
+        // empty, smaller than the buffer, exactly the buffer and spanning several buffers
+        return new Object[][] {{0}, {17}, {1024 * 1024}, {3 * 1024 * 1024 + 5}};
+    }
+
+    @Test(dataProvider = "fileSizes")
+    public void digestMatchesPerAlgorithmDigest(int size) throws Exception {
+        byte[] content = new byte[size];
+        new Random(size).nextBytes(content);
+        Path file = Files.createTempFile("checksums-", ".jar");
+        try {
+            Files.write(file, content);
+            Map<ChecksumAlgorithm, String> checksums = Checksums.digest(file, EnumSet.allOf(ChecksumAlgorithm.class));
+            assertThat(checksums)
+                    .containsEntry(ChecksumAlgorithm.MD5, DigestUtils.md5Hex(content))
+                    .containsEntry(ChecksumAlgorithm.SHA1, DigestUtils.sha1Hex(content))
+                    .containsEntry(ChecksumAlgorithm.SHA256, DigestUtils.sha256Hex(content))
+                    .containsEntry(ChecksumAlgorithm.SHA512, DigestUtils.sha512Hex(content));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void requiredAlgorithmsAreAlwaysIncluded() {
+        assertThat(ChecksumAlgorithm.of((Collection<String>) null))
+                .containsExactly(ChecksumAlgorithm.MD5, ChecksumAlgorithm.SHA1);
+        assertThat(ChecksumAlgorithm.of(Arrays.asList("SHA-256", "sha512")))
+                .containsExactly(
+                        ChecksumAlgorithm.MD5,
+                        ChecksumAlgorithm.SHA1,
+                        ChecksumAlgorithm.SHA256,
+                        ChecksumAlgorithm.SHA512);
+        assertThatThrownBy(() -> ChecksumAlgorithm.of("crc32")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class CompressionPolicyTest {
+    private Path workDirectory;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        workDirectory = Files.createTempDirectory("compression-policy-test-");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanup() {
+        FileUtils.deleteQuietly(workDirectory.toFile());
+    }
+
+    private Path textFile(String name) throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; text.length() < 2 * 1024 * 1024; i++) {
+            text.append("<dependency><artifactId>demo-").append(i).append("</artifactId></dependency>\n");
+        }
+        Path file = workDirectory.resolve(name);
+        Files.write(file, text.toString().getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    @Test
+    public void compressedContentIsDetectedByExtensionOrMagicBytes() throws Exception {
+        Path text = textFile("demo.pom");
+        Path gzip = workDirectory.resolve("distribution.bin");
+        try (GZIPOutputStream outputStream = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            outputStream.write(1);
+        }
+
+        assertThat(CompressionPolicy.isCompressed("demo-1.0.0.jar", text)).isTrue();
+        assertThat(CompressionPolicy.isCompressed("demo-1.0.0.tar.gz", text)).isTrue();
+        assertThat(CompressionPolicy.isCompressed("demo-1.0.0.pom", text)).isFalse();
+        assertThat(CompressionPolicy.isCompressed("demo-1.0.0-bin", gzip)).isTrue();
+        assertThat(CompressionPolicy.MAXIMUM.isStored("demo-1.0.0.jar", text)).isFalse();
+    }
+
+    @Test
+    public void autoLevelFollowsTheUploadBandwidth() throws Exception {
+        List<Path> files = Collections.singletonList(textFile("demo.pom"));
+
+        // A fast link makes the compression time dominate, a slow link makes the compressed size dominate.
+        assertThat(CompressionPolicy.adaptive(Long.MAX_VALUE).chooseLevel(files, 1))
+                .isLessThanOrEqualTo(3);
+        assertThat(CompressionPolicy.adaptive(1).chooseLevel(files, 1)).isGreaterThanOrEqualTo(6);
+        assertThat(CompressionPolicy.MAXIMUM.chooseLevel(files, 1)).isEqualTo(Deflater.BEST_COMPRESSION);
+    }
+
+    @Test
+    public void adaptiveBundleStoresCompressedEntries() throws Exception {
+        Path bundle = workDirectory.resolve("bundle.zip");
+        Path pom = textFile("demo.pom");
+        ZipBundle.builder()
+                .compressionPolicy(CompressionPolicy.adaptive(10 * 1024 * 1024))
+                .build()
+                .install(
+                        Arrays.asList(
+                                new DefaultArtifact("com.example:demo:pom:1.0.0").setFile(pom.toFile()),
+                                new DefaultArtifact("com.example:demo:jar:1.0.0").setFile(pom.toFile())),
+                        bundle);
+
+        try (ZipFile zipFile = new ZipFile(bundle.toFile())) {
+            ZipEntry jar = zipFile.getEntry("com/example/demo/1.0.0/demo-1.0.0.jar");
+            assertThat(jar.getMethod()).isEqualTo(ZipEntry.STORED);
+            assertThat(jar.getCompressedSize()).isEqualTo(Files.size(pom));
+            assertThat(zipFile.getEntry("com/example/demo/1.0.0/demo-1.0.0.pom").getMethod())
+                    .isEqualTo(ZipEntry.DEFLATED);
+        }
+        assertThat(ZipBundleTest.readBundle(bundle))
+                .containsEntry(
+                        "com/example/demo/1.0.0/demo-1.0.0.jar",
+                        new String(Files.readAllBytes(pom), StandardCharsets.ISO_8859_1));
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+public class DeploymentFileTest {
+
+    @Test
+    public void writeAndRead() throws Exception {
+        Path directory = Files.createTempDirectory("deployment-file-test-");
+        try {
+            Path file = directory.resolve(DeploymentFile.PATH);
+            DeploymentFile deploymentFile = new DeploymentFile();
+            deploymentFile
+                    .getDeployments()
+                    .add(DeploymentFile.Deployment.builder()
+                            .deploymentId("deployment-1")
+                            .deploymentName("Deployment-part-1")
+                            .publishingType(PublishingType.USER_MANAGED)
+                            .targetState(DeploymentState.VALIDATED)
+                            .bundle("bundle-1.zip")
+                            .uploadedAt("2025-01-01T00:00:00Z")
+                            .build());
+            deploymentFile.write(file);
+
+            assertThat(new String(Files.readAllBytes(file), "UTF-8")).contains("\"deploymentId\" : \"deployment-1\"");
+            assertThat(DeploymentFile.read(file)).isEqualTo(deploymentFile);
+        } finally {
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+}
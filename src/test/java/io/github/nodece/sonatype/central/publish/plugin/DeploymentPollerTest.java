@@ -0,0 +1,124 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import io.github.nodece.sonatype.central.publish.client.api.Publisher;
+import io.github.nodece.sonatype.central.publish.client.internal.HttpResponseException;
+import io.github.nodece.sonatype.central.publish.util.FutureUtils;
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.asynchttpclient.Response;
+import org.testng.annotations.Test;
+
+public class DeploymentPollerTest {
+    private static final String DEPLOYMENT_ID = "deployment-1";
+
+    private static final PollingStrategy WITHOUT_JITTER = PollingStrategy.builder()
+            .jitter(0)
+            .multiplier(2)
+            .maxInterval(Duration.ofSeconds(5))
+            .build();
+
+    private static CompletableFuture<DeploymentStatus> status(DeploymentState state) {
+        return completedFuture(DeploymentStatus.builder()
+                .deploymentId(DEPLOYMENT_ID)
+                .deploymentState(state)
+                .build());
+    }
+
+    @Test
+    public void intervalsBackOffPerStateUpToTheMaximum() {
+        Publisher publisher = mock(Publisher.class);
+        when(publisher.status(DEPLOYMENT_ID))
+                .thenReturn(status(DeploymentState.VALIDATING))
+                .thenReturn(status(DeploymentState.VALIDATING))
+                .thenReturn(status(DeploymentState.VALIDATING))
+                .thenReturn(status(DeploymentState.PUBLISHING))
+                .thenReturn(status(DeploymentState.PUBLISHING))
+                .thenReturn(status(DeploymentState.PUBLISHED));
+        VirtualScheduler scheduler = new VirtualScheduler();
+
+        CompletableFuture<DeploymentStatus> result = new DeploymentPoller(
+                        publisher, WITHOUT_JITTER, scheduler, () -> 0.5)
+                .poll(DEPLOYMENT_ID, DeploymentState.PUBLISHED);
+        scheduler.runAll();
+
+        assertThat(result).isCompletedWithValueMatching(n -> n.getDeploymentState() == DeploymentState.PUBLISHED);
+        // the interval starts over at the PUBLISHING interval when the state changes
+        assertThat(scheduler.getDelays())
+                .containsExactly(
+                        Duration.ofSeconds(1),
+                        Duration.ofSeconds(2),
+                        Duration.ofSeconds(4),
+                        Duration.ofSeconds(5),
+                        Duration.ofSeconds(3),
+                        Duration.ofSeconds(5));
+        assertThat(scheduler.elapsed()).isEqualTo(Duration.ofSeconds(20));
+    }
+
+    @Test
+    public void jitterSpreadsTheInterval() {
+        PollingStrategy strategy = PollingStrategy.builder().jitter(0.2).build();
+        assertThat(strategy.nextDelay(DeploymentState.PUBLISHING, 0, 0)).isEqualTo(Duration.ofMillis(2400));
+        assertThat(strategy.nextDelay(DeploymentState.PUBLISHING, 0, 0.5)).isEqualTo(Duration.ofSeconds(3));
+        assertThat(strategy.nextDelay(DeploymentState.PUBLISHING, 0, 1)).isEqualTo(Duration.ofMillis(3600));
+        assertThat(strategy.nextDelay(DeploymentState.PUBLISHING, 100, 1)).isEqualTo(strategy.getMaxInterval());
+        assertThat(strategy.nextDelay(null, 0, 0.5)).isEqualTo(strategy.getInterval());
+    }
+
+    @Test
+    public void deadlineFailsWithLastStatus() {
+        Publisher publisher = mock(Publisher.class);
+        when(publisher.status(DEPLOYMENT_ID)).thenReturn(status(DeploymentState.PUBLISHING));
+        VirtualScheduler scheduler = new VirtualScheduler();
+        PollingStrategy strategy =
+                PollingStrategy.builder().timeout(Duration.ofMinutes(10)).build();
+
+        CompletableFuture<DeploymentStatus> result =
+                new DeploymentPoller(publisher, strategy, scheduler).poll(DEPLOYMENT_ID, DeploymentState.PUBLISHED);
+        scheduler.runAll();
+
+        assertThat(result)
+                .failsWithin(Duration.ZERO)
+                .withThrowableOfType(ExecutionException.class)
+                .havingCause()
+                .isInstanceOfSatisfying(
+                        DeploymentTimeoutException.class,
+                        e -> assertThat(e.getLastStatus().getDeploymentState()).isEqualTo(DeploymentState.PUBLISHING));
+        // the last poll happens at the deadline
+        assertThat(scheduler.elapsed()).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    public void transientFailuresAreRetried() {
+        Response response = mock(Response.class);
+        when(response.getStatusCode()).thenReturn(502);
+        Publisher publisher = mock(Publisher.class);
+        when(publisher.status(DEPLOYMENT_ID))
+                .thenReturn(FutureUtils.failedFuture(new ConnectException("Connection refused")))
+                .thenReturn(FutureUtils.failedFuture(new HttpResponseException(response)))
+                .thenReturn(status(DeploymentState.VALIDATED));
+        VirtualScheduler scheduler = new VirtualScheduler();
+
+        CompletableFuture<DeploymentStatus> result = new DeploymentPoller(
+                        publisher, WITHOUT_JITTER, scheduler, () -> 0.5)
+                .poll(DEPLOYMENT_ID, DeploymentState.VALIDATED);
+        scheduler.runAll();
+
+        assertThat(result).isCompletedWithValueMatching(n -> n.getDeploymentState() == DeploymentState.VALIDATED);
+        verify(publisher, times(3)).status(DEPLOYMENT_ID);
+    }
+}
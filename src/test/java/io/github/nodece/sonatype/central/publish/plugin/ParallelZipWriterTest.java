@@ -0,0 +1,204 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ParallelZipWriterTest {
+    private Path workDirectory;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        workDirectory = Files.createTempDirectory("parallel-zip-writer-test-");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanup() {
+        FileUtils.deleteQuietly(workDirectory.toFile());
+    }
+
+    private Path writeArchive(String name, int threads) throws IOException {
+        Random random = new Random(0);
+        Path archive = workDirectory.resolve(name);
+        try (ParallelZipWriter zipWriter =
+                new ParallelZipWriter(Files.newOutputStream(archive), threads, Deflater.BEST_COMPRESSION)) {
+            for (int i = 0; i < 32; i++) {
+                // Random content does not compress, so the largest entries spill to a temporary file.
+                int size = i % 8 == 0 ? ParallelZipWriter.SPILL_THRESHOLD + 1024 : random.nextInt(64 * 1024);
+                byte[] content = new byte[size];
+                random.nextBytes(content);
+                Path file = workDirectory.resolve("file-" + i);
+                Files.write(file, content);
+                zipWriter.add("dir/file-" + i + ".jar", file);
+                zipWriter.add("dir/file-" + i + ".jar.md5", ("checksum-" + i).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return archive;
+    }
+
+    @Test
+    public void entriesAreWrittenInOrderWhateverTheThreads() throws Exception {
+        Map<String, String> sequential = ZipBundleTest.readBundle(writeArchive("sequential.zip", 1));
+        Map<String, String> parallel = ZipBundleTest.readBundle(writeArchive("parallel.zip", 8));
+
+        assertThat(sequential).hasSize(64).containsEntry("dir/file-3.jar.md5", "checksum-3");
+        assertThat(sequential.keySet()).startsWith("dir/file-0.jar", "dir/file-0.jar.md5", "dir/file-1.jar");
+        assertThat(parallel).containsExactlyEntriesOf(sequential);
+        assertThat(Files.list(workDirectory)
+                        .filter(n -> n.getFileName().toString().endsWith(".deflate")))
+                .isEmpty();
+    }
+
+    @Test
+    public void entriesAreDeflatedIntoTheOutputOnOneThread() throws Exception {
+        Path archive = writeArchive("sequential.zip", 1);
+
+        byte[] header = new byte[8];
+        try (InputStream inputStream = Files.newInputStream(archive)) {
+            IOUtils.readFully(inputStream, header);
+        }
+        // the archive starts with the local header of the first entry, bit 3 of its flags marks a data descriptor
+        int flags = (header[6] & 0xFF) | (header[7] & 0xFF) << 8;
+        assertThat(flags & 8).isEqualTo(8);
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            ZipEntry entry = zipFile.getEntry("dir/file-0.jar");
+            assertThat(entry.getSize()).isEqualTo(ParallelZipWriter.SPILL_THRESHOLD + 1024);
+            assertThat(entry.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+            try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                assertThat(inputStream).hasSameContentAs(Files.newInputStream(workDirectory.resolve("file-0")));
+            }
+        }
+    }
+
+    @Test
+    public void zip64DataDescriptorIsReadBack() throws Exception {
+        // A sparse file of zeros deflates to a few megabytes, but its size needs the 8-byte sizes of a zip64 descriptor
+        long size = (1L << 32) + 1024;
+        Path file = workDirectory.resolve("large");
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.setLength(size);
+        }
+        Path archive = workDirectory.resolve("large.zip");
+        try (ParallelZipWriter zipWriter =
+                new ParallelZipWriter(Files.newOutputStream(archive), 1, Deflater.BEST_SPEED)) {
+            zipWriter.add("large", file);
+            zipWriter.add("small", "small".getBytes(StandardCharsets.UTF_8));
+        }
+
+        // the streaming reader checks the size and the CRC of the descriptor against the inflated data
+        try (ZipInputStream zipInputStream = new ZipInputStream(Files.newInputStream(archive))) {
+            assertThat(zipInputStream.getNextEntry().getName()).isEqualTo("large");
+            assertThat(IOUtils.consume(zipInputStream)).isEqualTo(size);
+            assertThat(zipInputStream.getNextEntry().getName()).isEqualTo("small");
+            assertThat(IOUtils.toString(zipInputStream, StandardCharsets.UTF_8)).isEqualTo("small");
+            assertThat(zipInputStream.getNextEntry()).isNull();
+        }
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            ZipEntry entry = zipFile.getEntry("large");
+            assertThat(entry.getSize()).isEqualTo(size);
+            assertThat(entry.getCrc()).isEqualTo(crcOfZeros(size));
+            try (InputStream inputStream = zipFile.getInputStream(zipFile.getEntry("small"))) {
+                assertThat(IOUtils.toString(inputStream, StandardCharsets.UTF_8))
+                        .isEqualTo("small");
+            }
+        }
+    }
+
+    private static long crcOfZeros(long size) {
+        CRC32 crc = new CRC32();
+        byte[] zeros = new byte[1024 * 1024];
+        for (long remaining = size; remaining > 0; remaining -= zeros.length) {
+            crc.update(zeros, 0, (int) Math.min(zeros.length, remaining));
+        }
+        return crc.getValue();
+    }
+
+    @Test
+    public void zip64EndOfCentralDirectoryIsWrittenForManyEntries() throws Exception {
+        Path archive = workDirectory.resolve("many.zip");
+        try (ParallelZipWriter zipWriter =
+                new ParallelZipWriter(Files.newOutputStream(archive), 4, Deflater.BEST_SPEED)) {
+            for (int i = 0; i < 70_000; i++) {
+                zipWriter.add("entry-" + i, new byte[] {(byte) i});
+            }
+        }
+        try (ZipFile zipFile = new ZipFile(archive.toFile())) {
+            assertThat(zipFile.size()).isEqualTo(70_000);
+            assertThat(zipFile.getEntry("entry-69999").getSize()).isEqualTo(1);
+        }
+        assertThat(ZipBundleTest.readBundle(archive)).hasSize(70_000);
+    }
+
+    @Test
+    public void missingFileFailsTheArchive() throws Exception {
+        Path archive = workDirectory.resolve("failed.zip");
+        assertThatThrownBy(() -> {
+                    try (ParallelZipWriter zipWriter =
+                            new ParallelZipWriter(Files.newOutputStream(archive), 4, Deflater.BEST_SPEED)) {
+                        for (int i = 0; i < 16; i++) {
+                            zipWriter.add("entry-" + i, workDirectory.resolve("missing-" + i));
+                        }
+                    }
+                })
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("missing-0");
+    }
+
+    @Test
+    public void spillFilesOfTheRunningEntriesAreDeletedWhenTheArchiveFails() throws Exception {
+        Path temporaryDirectory = Paths.get(System.getProperty("java.io.tmpdir"));
+        Set<Path> spillFiles = listSpillFiles(temporaryDirectory);
+        byte[] content = new byte[ParallelZipWriter.SPILL_THRESHOLD * 2];
+        new Random(0).nextBytes(content);
+        Path archive = workDirectory.resolve("failed.zip");
+        assertThatThrownBy(() -> {
+                    try (ParallelZipWriter zipWriter =
+                            new ParallelZipWriter(Files.newOutputStream(archive), 4, Deflater.BEST_SPEED)) {
+                        // the first entry fails while the following ones are still being compressed
+                        zipWriter.add("missing", workDirectory.resolve("missing"));
+                        for (int i = 0; i < 4; i++) {
+                            zipWriter.add("entry-" + i, content);
+                        }
+                    }
+                })
+                .isInstanceOf(IOException.class);
+
+        assertThat(listSpillFiles(temporaryDirectory)).isSubsetOf(spillFiles);
+    }
+
+    private static Set<Path> listSpillFiles(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith("central-zip-") && name.endsWith(".deflate");
+                    })
+                    .collect(Collectors.toSet());
+        }
+    }
+}
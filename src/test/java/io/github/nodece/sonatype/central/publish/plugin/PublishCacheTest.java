@@ -0,0 +1,47 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+public class PublishCacheTest {
+
+    @Test
+    public void putGetAndRemove() throws Exception {
+        Path directory = Files.createTempDirectory("publish-cache-test-");
+        try {
+            URI uri = URI.create("https://central.sonatype.com/api/v1/");
+            String key = PublishCache.key("hash", uri, PublishingType.AUTOMATIC);
+            assertThat(key)
+                    .isEqualTo(PublishCache.key("hash", uri, PublishingType.AUTOMATIC))
+                    .isNotEqualTo(PublishCache.key("other", uri, PublishingType.AUTOMATIC))
+                    .isNotEqualTo(PublishCache.key("hash", uri, PublishingType.USER_MANAGED))
+                    .isNotEqualTo(PublishCache.key("hash", URI.create("http://localhost/"), PublishingType.AUTOMATIC));
+
+            PublishCache cache = new PublishCache(directory.resolve("cache"));
+            assertThat(cache.get(key)).isNull();
+
+            cache.put(key, "deployment-1", "Deployment", DeploymentState.PENDING);
+            cache.put(key, "deployment-1", "Deployment", DeploymentState.PUBLISHED);
+            PublishCache.Entry entry = new PublishCache(directory.resolve("cache")).get(key);
+            assertThat(entry.getDeploymentId()).isEqualTo("deployment-1");
+            assertThat(entry.getDeploymentName()).isEqualTo("Deployment");
+            assertThat(entry.getState()).isEqualTo(DeploymentState.PUBLISHED);
+
+            cache.remove(key);
+            assertThat(cache.get(key)).isNull();
+        } finally {
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+}
@@ -15,6 +15,7 @@ import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
 import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
 import io.github.nodece.sonatype.central.publish.client.api.Publisher;
 import io.github.nodece.sonatype.central.publish.client.internal.HttpResponseException;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -74,6 +75,27 @@ public class PublishMojoTest {
         assertThat(deploymentStatus.getDeploymentState()).isEqualTo(PUBLISHED);
     }
 
+    @Test
+    public void userManagedDeploymentCompletesWhenValidated() throws Throwable {
+        String deploymentId = "deploymentId-123";
+
+        Publisher publisher = mock(Publisher.class);
+        when(publisher.status(deploymentId))
+                .thenReturn(completedFuture(DeploymentStatus.builder()
+                        .deploymentId(deploymentId)
+                        .deploymentState(DeploymentState.VALIDATING)
+                        .build()))
+                .thenReturn(completedFuture(DeploymentStatus.builder()
+                        .deploymentId(deploymentId)
+                        .deploymentState(DeploymentState.VALIDATED)
+                        .build()));
+
+        assertThat(PublishMojo.waitPublishState(publisher, deploymentId, DeploymentState.VALIDATED))
+                .succeedsWithin(15, TimeUnit.SECONDS)
+                .extracting(DeploymentStatus::getDeploymentState)
+                .isEqualTo(DeploymentState.VALIDATED);
+    }
+
     @Test(dataProvider = "deploymentTransitions")
     public void deploymentStateTransitions(
             DeploymentState firstState, DeploymentState secondState, DeploymentState expectedFinalState)
@@ -148,13 +170,15 @@ public class PublishMojoTest {
 
         @Cleanup("shutdownNow")
         ExecutorService executor = Executors.newSingleThreadExecutor();
-        Future<DeploymentStatus> future = executor.submit(() -> {
-            try {
-                return PublishMojo.waitPublishState(publisher, deploymentId);
-            } catch (Throwable e) {
-                throw new RuntimeException(e);
-            }
-        });
+        // polls every few milliseconds, the default strategy backs off for longer than the test waits
+        PollingStrategy strategy = PollingStrategy.builder()
+                .initialDelay(Duration.ofMillis(10))
+                .interval(Duration.ofMillis(10))
+                .stateIntervals(Collections.emptyMap())
+                .build();
+        Future<DeploymentStatus> future =
+                executor.submit(() -> PublishMojo.waitPublishState(publisher, deploymentId, PUBLISHED, strategy)
+                        .get());
 
         assertThat(future).succeedsWithin(15, TimeUnit.SECONDS).satisfies(n -> assertThat(n.getDeploymentState())
                 .isEqualTo(DeploymentState.PUBLISHED));
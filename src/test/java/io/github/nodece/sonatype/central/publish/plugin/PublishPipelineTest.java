@@ -0,0 +1,144 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import io.github.nodece.sonatype.central.publish.client.api.Publisher;
+import io.github.nodece.sonatype.central.publish.client.api.PublisherConfig;
+import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
+import io.github.nodece.sonatype.central.publish.client.internal.DefaultPublisher;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.commons.io.IOUtils;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class PublishPipelineTest {
+    private static final String DEPLOYMENT_ID = "deployment-1";
+    private static final String PURL = "pkg:maven/com.example/demo@1.0.0";
+
+    private HttpServer server;
+    private Publisher publisher;
+    private SystemScheduler scheduler;
+    private final AtomicReference<DeploymentState> state = new AtomicReference<>();
+    private final AtomicInteger publishRequests = new AtomicInteger();
+
+    private static void respond(HttpExchange exchange, int statusCode, String body) throws IOException {
+        IOUtils.consume(exchange.getRequestBody());
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(statusCode, bytes.length == 0 ? -1 : bytes.length);
+        try (OutputStream outputStream = exchange.getResponseBody()) {
+            outputStream.write(bytes);
+        }
+    }
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        state.set(null);
+        publishRequests.set(0);
+        scheduler = new SystemScheduler();
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api/v1/publisher/upload", exchange -> {
+            state.set(DeploymentState.VALIDATING);
+            respond(exchange, 201, DEPLOYMENT_ID);
+        });
+        // every poll moves the deployment one state further, publishing waits for the publish request
+        server.createContext("/api/v1/publisher/status", exchange -> {
+            DeploymentState current = state.get();
+            if (current == DeploymentState.VALIDATING) {
+                state.set(DeploymentState.VALIDATED);
+            } else if (current == DeploymentState.PUBLISHING) {
+                state.set(DeploymentState.PUBLISHED);
+            }
+            respond(
+                    exchange,
+                    200,
+                    "{\"deploymentId\":\"" + DEPLOYMENT_ID + "\",\"deploymentState\":\"" + current + "\",\"purls\":[\""
+                            + PURL + "\"]}");
+        });
+        server.createContext("/api/v1/publisher/deployment/" + DEPLOYMENT_ID, exchange -> {
+            publishRequests.incrementAndGet();
+            if (state.compareAndSet(DeploymentState.VALIDATED, DeploymentState.PUBLISHING)) {
+                respond(exchange, 204, "");
+            } else {
+                respond(exchange, 400, "Deployment is not validated");
+            }
+        });
+        server.start();
+        publisher = new DefaultPublisher();
+        publisher
+                .initialize(PublisherConfig.builder()
+                        .uri(URI.create(
+                                "http://127.0.0.1:" + server.getAddress().getPort() + "/api/v1/"))
+                        .build())
+                .get();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanup() {
+        scheduler.close();
+        publisher.close().join();
+        server.stop(0);
+    }
+
+    private PublishPipeline pipeline(DeploymentGate gate) {
+        PollingStrategy strategy = PollingStrategy.builder()
+                .initialDelay(Duration.ofMillis(1))
+                .interval(Duration.ofMillis(10))
+                .stateIntervals(Collections.emptyMap())
+                .timeout(Duration.ofSeconds(10))
+                .build();
+        DeploymentPoller poller = new DeploymentPoller(publisher, strategy, scheduler);
+        return new PublishPipeline(publisher, poller, poller, gate);
+    }
+
+    private String upload() throws Exception {
+        return publisher
+                .upload("demo", PublishingType.USER_MANAGED, "bundle.zip", new ByteArrayInputStream(new byte[16]))
+                .get();
+    }
+
+    @Test
+    public void validatedDeploymentIsPublished() throws Exception {
+        DeploymentGate gate =
+                DeploymentGate.expectedPurls(Collections.singletonList(new DefaultArtifact("com.example:demo:1.0.0")));
+
+        assertThat(pipeline(gate).run(upload()))
+                .succeedsWithin(10, TimeUnit.SECONDS)
+                .extracting(DeploymentStatus::getDeploymentState)
+                .isEqualTo(DeploymentState.PUBLISHED);
+        assertThat(publishRequests).hasValue(1);
+    }
+
+    @Test
+    public void rejectedDeploymentIsNotPublished() throws Exception {
+        DeploymentGate gate =
+                DeploymentGate.expectedPurls(Collections.singletonList(new DefaultArtifact("com.example:other:1.0.0")));
+
+        assertThat(pipeline(gate).run(upload()))
+                .failsWithin(10, TimeUnit.SECONDS)
+                .withThrowableOfType(ExecutionException.class)
+                .withCauseInstanceOf(IllegalStateException.class);
+        assertThat(publishRequests).hasValue(0);
+        assertThat(state).hasValue(DeploymentState.VALIDATED);
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.nodece.sonatype.central.publish.client.FakeCentralPortal;
+import io.github.nodece.sonatype.central.publish.client.FakeCentralPortal.Endpoint;
+import io.github.nodece.sonatype.central.publish.client.FakeCentralPortal.Fault;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.PublisherConfig;
+import io.github.nodece.sonatype.central.publish.client.api.PublishingType;
+import io.github.nodece.sonatype.central.publish.client.api.UploadSource;
+import io.github.nodece.sonatype.central.publish.client.internal.DefaultPublisher;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.FileUtils;
+import org.testng.annotations.Test;
+
+public class PublishReportTest {
+
+    @Test
+    public void statesAndPollsAreRecorded() throws Exception {
+        PublishReport report = new PublishReport();
+        report.recordUpload("deployment-1", "demo", 1024, 1, System.nanoTime());
+        report.recordStatus("deployment-1", DeploymentState.PENDING);
+        Thread.sleep(20);
+        report.recordStatus("deployment-1", DeploymentState.PENDING);
+        report.recordStatus("deployment-1", DeploymentState.VALIDATING);
+        report.recordStatus("deployment-1", DeploymentState.PUBLISHED);
+
+        PublishReport.Deployment deployment = report.getDeployments().get("deployment-1");
+        assertThat(deployment.getUploadBytes()).isEqualTo(1024);
+        assertThat(deployment.getStatusPolls()).isEqualTo(4);
+        assertThat(deployment.getLastState()).isEqualTo(DeploymentState.PUBLISHED);
+        assertThat(deployment.getStateMillis())
+                .containsOnlyKeys(DeploymentState.PENDING, DeploymentState.VALIDATING)
+                .hasEntrySatisfying(
+                        DeploymentState.PENDING, millis -> assertThat(millis).isGreaterThanOrEqualTo(20));
+        assertThat(report.getPhases()).containsOnlyKeys("upload");
+
+        String metrics = report.toOpenMetrics();
+        assertThat(metrics)
+                .contains("central_publish_upload_bytes{deployment_id=\"deployment-1\"} 1024\n")
+                .contains("central_publish_status_polls_total{deployment_id=\"deployment-1\"} 4\n")
+                .contains("central_publish_state_seconds{deployment_id=\"deployment-1\",state=\"PENDING\"} ")
+                .endsWith("# EOF\n");
+    }
+
+    @Test
+    public void publisherIsReported() throws Exception {
+        Path directory = Files.createTempDirectory("publish-report-test-");
+        PublishReport report = new PublishReport();
+        try (FakeCentralPortal portal = new FakeCentralPortal()) {
+            ReportingPublisher publisher = new ReportingPublisher(new DefaultPublisher(), report);
+            publisher
+                    .initialize(PublisherConfig.builder().uri(portal.getUri()).build())
+                    .get();
+            try {
+                byte[] bundle = "bundle".getBytes(StandardCharsets.UTF_8);
+                String deploymentId = publisher
+                        .upload("demo", PublishingType.AUTOMATIC, "bundle.zip", () -> new ByteArrayInputStream(bundle))
+                        .get(10, TimeUnit.SECONDS);
+                for (int i = 0; i < FakeCentralPortal.AUTOMATIC_SCRIPT.size(); i++) {
+                    publisher.status(deploymentId).get(10, TimeUnit.SECONDS);
+                }
+
+                report.writeJson(directory.resolve(PublishReport.JSON_PATH));
+                JsonNode json = new ObjectMapper()
+                        .readTree(directory.resolve(PublishReport.JSON_PATH).toFile());
+                JsonNode deployment = json.get("deployments").get(deploymentId);
+                assertThat(deployment.get("deploymentName").asText()).isEqualTo("demo");
+                assertThat(deployment.get("uploadBytes").asLong()).isEqualTo(bundle.length);
+                assertThat(deployment.get("uploadAttempts").asInt()).isEqualTo(1);
+                assertThat(deployment.get("statusPolls").asInt()).isEqualTo(FakeCentralPortal.AUTOMATIC_SCRIPT.size());
+                assertThat(deployment.get("lastState").asText()).isEqualTo("PUBLISHED");
+                assertThat(json.get("phases").has("upload")).isTrue();
+            } finally {
+                publisher.close().join();
+            }
+        } finally {
+            FileUtils.deleteQuietly(directory.toFile());
+        }
+    }
+
+    @Test
+    public void retriesOfFileUploadsAreReported() throws Exception {
+        Path file = Files.createTempFile("bundle-", ".zip");
+        PublishReport report = new PublishReport();
+        try (FakeCentralPortal portal = new FakeCentralPortal()) {
+            // larger than the socket buffers, so the rejected attempts cannot send the whole body
+            Files.write(file, new byte[64 * 1024 * 1024]);
+            portal.inject(Endpoint.UPLOAD, Fault.SERVER_ERROR, Fault.SERVER_ERROR);
+            ReportingPublisher publisher = new ReportingPublisher(new DefaultPublisher(), report);
+            publisher
+                    .initialize(PublisherConfig.builder()
+                            .uri(portal.getUri())
+                            .uploadRetryDelay(Duration.ofMillis(10))
+                            .uploadMaxRetryDelay(Duration.ofMillis(100))
+                            .build())
+                    .get();
+            try {
+                String deploymentId = publisher
+                        .upload("demo", PublishingType.AUTOMATIC, "bundle.zip", UploadSource.of(file))
+                        .get(1, TimeUnit.MINUTES);
+
+                PublishReport.Deployment deployment = report.getDeployments().get(deploymentId);
+                assertThat(deployment.getUploadAttempts()).isEqualTo(3);
+                assertThat(deployment.getUploadBytes()).isEqualTo(Files.size(file));
+            } finally {
+                publisher.close().join();
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.nodece.sonatype.central.publish.util.RateLimiter;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.aether.DefaultRepositorySystemSession;
+import org.eclipse.aether.RepositorySystemSession;
+import org.eclipse.aether.transfer.TransferEvent;
+import org.eclipse.aether.transfer.TransferListener;
+import org.eclipse.aether.transfer.TransferResource;
+import org.testng.annotations.Test;
+
+public class RateLimitedTransferListenerTest {
+
+    @Test
+    public void transfersAreThrottled() throws Exception {
+        RepositorySystemSession session = RateLimitedTransferListener.limit(
+                new DefaultRepositorySystemSession(), new RateLimiter(1024 * 1024, 0));
+        TransferListener listener = session.getTransferListener();
+        TransferResource resource = new TransferResource(
+                "snapshots", "http://localhost/", "com/example/demo/1.0-SNAPSHOT/demo.jar", new File("demo.jar"), null);
+        ByteBuffer buffer = ByteBuffer.allocate(128 * 1024);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 12; i++) {
+            listener.transferProgressed(new TransferEvent.Builder(session, resource)
+                    .setType(TransferEvent.EventType.PROGRESSED)
+                    .setRequestType(TransferEvent.RequestType.PUT)
+                    .setTransferredBytes((i + 1) * buffer.capacity())
+                    .setDataBuffer(buffer.duplicate())
+                    .build());
+        }
+
+        // 1.5 MB at 1 MB/s
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isBetween(1400L, 1800L);
+    }
+
+    @Test
+    public void downloadsAreNotThrottled() throws Exception {
+        RepositorySystemSession session = RateLimitedTransferListener.limit(
+                new DefaultRepositorySystemSession(), new RateLimiter(1024 * 1024, 0));
+        TransferListener listener = session.getTransferListener();
+        TransferResource resource = new TransferResource(
+                "snapshots",
+                "http://localhost/",
+                "com/example/demo/1.0-SNAPSHOT/maven-metadata.xml",
+                new File("maven-metadata.xml"),
+                null);
+        ByteBuffer buffer = ByteBuffer.allocate(128 * 1024);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 12; i++) {
+            listener.transferProgressed(new TransferEvent.Builder(session, resource)
+                    .setType(TransferEvent.EventType.PROGRESSED)
+                    .setRequestType(TransferEvent.RequestType.GET)
+                    .setTransferredBytes((i + 1) * buffer.capacity())
+                    .setDataBuffer(buffer.duplicate())
+                    .build());
+        }
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(500L);
+    }
+}
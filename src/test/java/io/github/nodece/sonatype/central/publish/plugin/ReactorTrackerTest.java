@@ -0,0 +1,75 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.nodece.sonatype.central.publish.plugin.ReactorTracker.PublishState;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.maven.model.Model;
+import org.apache.maven.project.MavenProject;
+import org.testng.annotations.Test;
+
+public class ReactorTrackerTest {
+
+    private static List<MavenProject> createProjects(int count) {
+        List<MavenProject> projects = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Model model = new Model();
+            model.setGroupId("com.example");
+            model.setArtifactId("demo-" + i);
+            model.setVersion("1.0.0");
+            projects.add(new MavenProject(model));
+        }
+        return projects;
+    }
+
+    @Test
+    public void lastMarkedProjectPublishes() throws Exception {
+        List<MavenProject> projects = createProjects(800);
+        ReactorTracker reactorTracker = new ReactorTracker(projects);
+        AtomicInteger publishers = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < projects.size(); i++) {
+                MavenProject project = projects.get(i);
+                PublishState state = i % 2 == 0 ? PublishState.PENDING : PublishState.SKIPPED;
+                futures.add(executor.submit(() -> {
+                    if (reactorTracker.mark(project, state)) {
+                        publishers.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(publishers).hasValue(1);
+        List<MavenProject> pendingProjects = reactorTracker.getPendingProjects();
+        assertThat(pendingProjects).hasSize(400);
+        assertThat(pendingProjects.get(0)).isSameAs(projects.get(0));
+        assertThat(pendingProjects.get(399)).isSameAs(projects.get(798));
+    }
+
+    @Test
+    public void projectMarkedTwiceIsCountedOnce() {
+        List<MavenProject> projects = createProjects(2);
+        ReactorTracker reactorTracker = new ReactorTracker(projects);
+
+        assertThat(reactorTracker.mark(projects.get(0), PublishState.PENDING)).isFalse();
+        assertThat(reactorTracker.mark(projects.get(0), PublishState.SKIPPED)).isFalse();
+        assertThat(reactorTracker.mark(projects.get(1), PublishState.PENDING)).isTrue();
+        assertThat(reactorTracker.getPendingProjects()).containsExactlyElementsOf(projects);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.io.FileUtils;
+import org.eclipse.aether.RepositorySystem;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.eclipse.aether.deployment.DeployRequest;
+import org.eclipse.aether.deployment.DeployResult;
+import org.eclipse.aether.deployment.DeploymentException;
+import org.eclipse.aether.repository.RemoteRepository;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class SnapshotDeployerTest {
+    private Path workDirectory;
+    private Path repositoryDirectory;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        workDirectory = Files.createTempDirectory("snapshot-deployer-test-");
+        repositoryDirectory = workDirectory.resolve("repository");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanup() {
+        FileUtils.deleteQuietly(workDirectory.toFile());
+    }
+
+    /**
+     * A repository system that copies the artifacts of a request to a local directory and writes the
+     * {@code maven-metadata.xml} after them, like the remote deployer does. The artifact ids listed in
+     * {@code failures} fail after their first file was written, as many times as given.
+     */
+    private class FileRepositorySystem {
+        private final Map<String, AtomicInteger> failures = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+        private final AtomicInteger concurrentRequests = new AtomicInteger();
+        private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+
+        RepositorySystem create() throws DeploymentException {
+            RepositorySystem repositorySystem = mock(RepositorySystem.class);
+            when(repositorySystem.deploy(any(), any())).thenAnswer(invocation -> {
+                DeployRequest request = invocation.getArgument(1);
+                maxConcurrentRequests.accumulateAndGet(concurrentRequests.incrementAndGet(), Math::max);
+                try {
+                    return deploy(request);
+                } finally {
+                    concurrentRequests.decrementAndGet();
+                }
+            });
+            return repositorySystem;
+        }
+
+        private DeployResult deploy(DeployRequest request) throws Exception {
+            String artifactId = request.getArtifacts().iterator().next().getArtifactId();
+            attempts.computeIfAbsent(artifactId, n -> new AtomicInteger()).incrementAndGet();
+            Path directory = null;
+            for (Artifact artifact : request.getArtifacts()) {
+                Path target = repositoryDirectory.resolve(ZipBundle.layoutPath(artifact));
+                directory = target.getParent();
+                Files.createDirectories(directory);
+                Files.copy(artifact.getFile().toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+                // give the other modules the chance to run concurrently
+                Thread.sleep(20);
+                AtomicInteger remainingFailures = failures.get(artifactId);
+                if (remainingFailures != null && remainingFailures.getAndDecrement() > 0) {
+                    throw new DeploymentException("Connection reset");
+                }
+            }
+            Files.write(directory.resolve("maven-metadata.xml"), artifactId.getBytes(StandardCharsets.UTF_8));
+            return new DeployResult(request);
+        }
+    }
+
+    private List<List<Artifact>> createModules(int count) throws IOException {
+        List<List<Artifact>> modules = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<Artifact> module = new ArrayList<>();
+            for (String extension : Arrays.asList("pom", "jar")) {
+                Path file = Files.createTempFile(workDirectory, "artifact-", "." + extension);
+                Files.write(file, ("demo-" + i).getBytes(StandardCharsets.UTF_8));
+                module.add(new DefaultArtifact("com.example:demo-" + i + ":" + extension + ":1.0.0-SNAPSHOT")
+                        .setFile(file.toFile()));
+            }
+            modules.add(module);
+        }
+        return modules;
+    }
+
+    private SnapshotDeployer.SnapshotDeployerBuilder deployer(RepositorySystem repositorySystem) {
+        return SnapshotDeployer.builder()
+                .repositorySystem(repositorySystem)
+                .repository(new RemoteRepository.Builder(
+                                "central",
+                                "default",
+                                repositoryDirectory.toUri().toString())
+                        .build())
+                .parallelism(3)
+                .retryDelay(Duration.ofMillis(10))
+                .maxRetryDelay(Duration.ofMillis(20));
+    }
+
+    @Test
+    public void failedModuleIsRetriedAlone() throws Exception {
+        FileRepositorySystem repository = new FileRepositorySystem();
+        repository.failures.put("demo-2", new AtomicInteger(2));
+        List<List<Artifact>> modules = createModules(8);
+
+        deployer(repository.create()).maxRetries(3).build().deploy(modules);
+
+        for (List<Artifact> module : modules) {
+            String artifactId = module.get(0).getArtifactId();
+            assertThat(repository.attempts.get(artifactId)).hasValue("demo-2".equals(artifactId) ? 3 : 1);
+            for (Artifact artifact : module) {
+                assertThat(repositoryDirectory.resolve(ZipBundle.layoutPath(artifact)))
+                        .isRegularFile();
+            }
+            assertThat(repositoryDirectory.resolve("com/example/" + artifactId + "/1.0.0-SNAPSHOT/maven-metadata.xml"))
+                    .isRegularFile();
+        }
+        assertThat(repository.maxConcurrentRequests.get()).isBetween(2, 3);
+    }
+
+    @Test
+    public void metadataIsNotWrittenWhenRetriesAreExhausted() throws Exception {
+        FileRepositorySystem repository = new FileRepositorySystem();
+        repository.failures.put("demo-1", new AtomicInteger(Integer.MAX_VALUE));
+        List<List<Artifact>> modules = createModules(3);
+
+        assertThatThrownBy(() ->
+                        deployer(repository.create()).maxRetries(2).build().deploy(modules))
+                .isInstanceOf(DeploymentException.class)
+                .hasRootCauseMessage("Connection reset");
+
+        assertThat(repository.attempts.get("demo-1")).hasValue(3);
+        assertThat(repositoryDirectory.resolve("com/example/demo-1/1.0.0-SNAPSHOT/maven-metadata.xml"))
+                .doesNotExist();
+        assertThat(repositoryDirectory.resolve("com/example/demo-0/1.0.0-SNAPSHOT/maven-metadata.xml"))
+                .isRegularFile();
+        assertThat(repositoryDirectory.resolve("com/example/demo-2/1.0.0-SNAPSHOT/maven-metadata.xml"))
+                .isRegularFile();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentState;
+import io.github.nodece.sonatype.central.publish.client.api.DeploymentStatus;
+import io.github.nodece.sonatype.central.publish.client.api.Publisher;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.testng.annotations.Test;
+
+public class StatusMojoTest {
+
+    private static CompletableFuture<DeploymentStatus> status(String deploymentId, DeploymentState state) {
+        return completedFuture(DeploymentStatus.builder()
+                .deploymentId(deploymentId)
+                .deploymentState(state)
+                .build());
+    }
+
+    @Test
+    public void deploymentsArePolledConcurrently() {
+        Publisher publisher = mock(Publisher.class);
+        when(publisher.status("a"))
+                .thenReturn(status("a", DeploymentState.PUBLISHING))
+                .thenReturn(status("a", DeploymentState.PUBLISHED));
+        when(publisher.status("b"))
+                .thenReturn(status("b", DeploymentState.VALIDATING))
+                .thenReturn(status("b", DeploymentState.VALIDATING))
+                .thenReturn(status("b", DeploymentState.PUBLISHED));
+        when(publisher.status("c")).thenReturn(status("c", DeploymentState.PUBLISHED));
+        VirtualScheduler scheduler = new VirtualScheduler();
+        PollingStrategy strategy = PollingStrategy.builder().jitter(0).build();
+        DeploymentPoller poller = new DeploymentPoller(publisher, strategy, scheduler);
+
+        Map<String, CompletableFuture<DeploymentStatus>> results =
+                StatusMojo.track(Arrays.asList("a", "b", "c", "a"), id -> poller.poll(id, DeploymentState.PUBLISHED));
+        scheduler.runAll();
+
+        assertThat(results).containsOnlyKeys("a", "b", "c");
+        assertThat(StatusMojo.summarize(results)).isTrue();
+        // the polls interleave on one scheduler, the total time is that of the slowest deployment
+        assertThat(scheduler.elapsed()).isEqualTo(Duration.ofSeconds(1 + 2 + 3));
+    }
+
+    @Test
+    public void idsAreTrimmedBeforeTheyAreDeduplicated() {
+        Publisher publisher = mock(Publisher.class);
+        when(publisher.status("a")).thenReturn(status("a", DeploymentState.PUBLISHED));
+        when(publisher.status("b")).thenReturn(status("b", DeploymentState.PUBLISHED));
+
+        Map<String, CompletableFuture<DeploymentStatus>> results =
+                StatusMojo.track(Arrays.asList("a", " a", "", "b ", " ", "b"), publisher::status);
+
+        assertThat(results).containsOnlyKeys("a", "b");
+        verify(publisher).status("a");
+        verify(publisher).status("b");
+        verifyNoMoreInteractions(publisher);
+    }
+
+    @Test
+    public void summaryFailsWhenAnyDeploymentFailed() {
+        Publisher publisher = mock(Publisher.class);
+        when(publisher.status("a")).thenReturn(status("a", DeploymentState.PUBLISHED));
+        when(publisher.status("b"))
+                .thenReturn(completedFuture(DeploymentStatus.builder()
+                        .deploymentId("b")
+                        .deploymentState(DeploymentState.FAILED)
+                        .errors(Collections.singletonMap(
+                                "pkg:maven/com.example/demo@1.0.0",
+                                Collections.singletonList("Project name is missing")))
+                        .build()));
+
+        assertThat(StatusMojo.summarize(StatusMojo.track(Arrays.asList("a", "b"), publisher::status)))
+                .isFalse();
+        assertThat(StatusMojo.summarize(StatusMojo.track(Collections.singletonList("a"), publisher::status)))
+                .isTrue();
+    }
+}
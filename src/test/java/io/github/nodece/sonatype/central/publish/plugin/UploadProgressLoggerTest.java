@@ -0,0 +1,29 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.nodece.sonatype.central.publish.client.api.UploadProgress;
+import java.time.Duration;
+import org.testng.annotations.Test;
+
+public class UploadProgressLoggerTest {
+
+    @Test
+    public void format() {
+        long megabyte = 1024 * 1024;
+        UploadProgress progress =
+                new UploadProgress("bundle.zip", 256 * megabyte, 1024 * megabyte, Duration.ofSeconds(32), 8 * megabyte);
+        assertThat(progress.getEta()).isEqualTo(Duration.ofSeconds(96));
+        assertThat(UploadProgressLogger.format(progress))
+                .isEqualTo("Uploading bundle.zip: 256 MB of 1 GB (25%), 8.0 MB/s, ETA 1m36s");
+
+        UploadProgress unknownSize =
+                new UploadProgress("bundle.zip", 256 * megabyte, -1, Duration.ofSeconds(32), 8 * megabyte);
+        assertThat(unknownSize.getEta()).isNull();
+        assertThat(UploadProgressLogger.format(unknownSize)).isEqualTo("Uploading bundle.zip: 256 MB, 8.0 MB/s");
+    }
+}
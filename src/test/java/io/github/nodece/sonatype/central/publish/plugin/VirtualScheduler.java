@@ -0,0 +1,74 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * A scheduler with a virtual clock, the tasks run on the calling thread of {@link #runAll()} without sleeping.
+ */
+class VirtualScheduler implements Scheduler {
+    private final PriorityQueue<Task> tasks = new PriorityQueue<>();
+    private final List<Duration> delays = new ArrayList<>();
+    private long nanoTime;
+    private long sequence;
+
+    private static class Task implements Comparable<Task> {
+        private final long time;
+        private final long sequence;
+        private final Runnable runnable;
+
+        Task(long time, long sequence, Runnable runnable) {
+            this.time = time;
+            this.sequence = sequence;
+            this.runnable = runnable;
+        }
+
+        @Override
+        public int compareTo(Task other) {
+            int result = Long.compare(time, other.time);
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    @Override
+    public synchronized long nanoTime() {
+        return nanoTime;
+    }
+
+    @Override
+    public synchronized void schedule(Runnable task, Duration delay) {
+        delays.add(delay);
+        tasks.add(new Task(nanoTime + delay.toNanos(), sequence++, task));
+    }
+
+    /**
+     * Runs the tasks in the order of their time and advances the clock to each of them until no task is left.
+     */
+    void runAll() {
+        while (true) {
+            Task task;
+            synchronized (this) {
+                task = tasks.poll();
+                if (task == null) {
+                    return;
+                }
+                nanoTime = task.time;
+            }
+            task.runnable.run();
+        }
+    }
+
+    synchronized Duration elapsed() {
+        return Duration.ofNanos(nanoTime);
+    }
+
+    synchronized List<Duration> getDelays() {
+        return new ArrayList<>(delays);
+    }
+}
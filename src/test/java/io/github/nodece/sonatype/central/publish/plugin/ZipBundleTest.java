@@ -0,0 +1,267 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.plugin;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.eclipse.aether.artifact.Artifact;
+import org.eclipse.aether.artifact.DefaultArtifact;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class ZipBundleTest {
+    private Path workDirectory;
+
+    @BeforeMethod
+    public void setup() throws Exception {
+        workDirectory = Files.createTempDirectory("zip-bundle-test-");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void cleanup() {
+        FileUtils.deleteQuietly(workDirectory.toFile());
+    }
+
+    private Artifact artifact(String coordinates, byte[] content) throws IOException {
+        Path file = Files.createTempFile(workDirectory, "artifact-", ".bin");
+        Files.write(file, content);
+        return new DefaultArtifact(coordinates).setFile(file.toFile());
+    }
+
+    private List<Artifact> createArtifacts() throws IOException {
+        Random random = new Random(0);
+        List<Artifact> artifacts = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            byte[] jar = new byte[random.nextInt(256 * 1024)];
+            random.nextBytes(jar);
+            artifacts.add(
+                    artifact("com.example:demo-" + i + ":pom:1.0.0", ("<project>" + i + "</project>").getBytes()));
+            artifacts.add(artifact("com.example:demo-" + i + ":jar:1.0.0", jar));
+            artifacts.add(artifact("com.example:demo-" + i + ":jar.asc:1.0.0", new byte[] {1, 2, 3}));
+            artifacts.add(artifact("com.example:demo-" + i + ":jar:sources:1.0.0", jar));
+        }
+        return artifacts;
+    }
+
+    /**
+     * Reads the bundle with both the streaming reader, which relies on the local headers, and the central directory.
+     */
+    static Map<String, String> readBundle(Path bundle) throws IOException {
+        Map<String, String> result = new LinkedHashMap<>();
+        try (ZipInputStream zipInputStream = new ZipInputStream(Files.newInputStream(bundle))) {
+            ZipEntry entry;
+            while ((entry = zipInputStream.getNextEntry()) != null) {
+                result.put(
+                        entry.getName(), new String(IOUtils.toByteArray(zipInputStream), StandardCharsets.ISO_8859_1));
+            }
+        }
+        try (ZipFile zipFile = new ZipFile(bundle.toFile())) {
+            assertThat(zipFile.stream().map(ZipEntry::getName)).containsExactlyElementsOf(result.keySet());
+        }
+        return result;
+    }
+
+    @Test
+    public void layoutPath() {
+        assertThat(ZipBundle.layoutPath(new DefaultArtifact("com.example.group:demo:jar:sources:1.0.0")))
+                .isEqualTo("com/example/group/demo/1.0.0/demo-1.0.0-sources.jar");
+        assertThat(ZipBundle.layoutPath(new DefaultArtifact("com.example:demo:jar.asc:1.0.0")))
+                .isEqualTo("com/example/demo/1.0.0/demo-1.0.0.jar.asc");
+        assertThat(ZipBundle.layoutPath(new DefaultArtifact("com.example:demo:pom:1.0.0-20250101.101010-1")))
+                .isEqualTo("com/example/demo/1.0.0-SNAPSHOT/demo-1.0.0-20250101.101010-1.pom");
+    }
+
+    @Test
+    public void partitionKeepsModulesTogether() throws Exception {
+        List<List<Artifact>> modules = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            modules.add(Arrays.asList(
+                    artifact("com.example:demo-" + i + ":pom:1.0.0", new byte[100]),
+                    artifact("com.example:demo-" + i + ":jar:1.0.0", new byte[i == 2 ? 1000 : 200])));
+        }
+
+        assertThat(ZipBundle.partition(modules, 0, 0))
+                .hasSize(1)
+                .first(InstanceOfAssertFactories.LIST)
+                .hasSize(10);
+        assertThat(ZipBundle.partition(modules, 0, 2)).extracting(List::size).containsExactly(4, 4, 2);
+        // demo-2 is larger than the limit and gets a bundle of its own
+        assertThat(ZipBundle.partition(modules, 600, 0)).extracting(List::size).containsExactly(4, 2, 4);
+        assertThat(ZipBundle.partition(modules, 600, 0).get(1))
+                .extracting(Artifact::getArtifactId)
+                .containsOnly("demo-2");
+    }
+
+    @Test
+    public void bundleContainsArtifactsAndChecksums() throws Exception {
+        byte[] content = "content".getBytes(StandardCharsets.UTF_8);
+        Path bundle = workDirectory.resolve("bundle.zip");
+        ZipBundle.builder()
+                .build()
+                .install(
+                        Arrays.asList(
+                                artifact("com.example:demo:jar:1.0.0", content),
+                                artifact("com.example:demo:jar.asc:1.0.0", content)),
+                        bundle);
+
+        assertThat(readBundle(bundle))
+                .containsOnlyKeys(
+                        "com/example/demo/1.0.0/demo-1.0.0.jar",
+                        "com/example/demo/1.0.0/demo-1.0.0.jar.md5",
+                        "com/example/demo/1.0.0/demo-1.0.0.jar.sha1",
+                        "com/example/demo/1.0.0/demo-1.0.0.jar.asc")
+                .containsEntry("com/example/demo/1.0.0/demo-1.0.0.jar", "content")
+                .containsEntry("com/example/demo/1.0.0/demo-1.0.0.jar.md5", DigestUtils.md5Hex(content))
+                .containsEntry("com/example/demo/1.0.0/demo-1.0.0.jar.sha1", DigestUtils.sha1Hex(content));
+    }
+
+    @Test
+    public void contentHashDependsOnContentOnly() throws Exception {
+        List<Artifact> artifacts = Arrays.asList(
+                artifact("com.example:demo:jar:1.0.0", "content".getBytes(StandardCharsets.UTF_8)),
+                artifact("com.example:demo:pom:1.0.0", "<project/>".getBytes(StandardCharsets.UTF_8)));
+        List<Artifact> copies = Arrays.asList(
+                artifact("com.example:demo:jar:1.0.0", "content".getBytes(StandardCharsets.UTF_8)),
+                artifact("com.example:demo:pom:1.0.0", "<project/>".getBytes(StandardCharsets.UTF_8)));
+        List<Artifact> changed = Arrays.asList(
+                artifact("com.example:demo:jar:1.0.0", "changed".getBytes(StandardCharsets.UTF_8)),
+                artifact("com.example:demo:pom:1.0.0", "<project/>".getBytes(StandardCharsets.UTF_8)));
+        ZipBundle zipBundle = ZipBundle.builder().build();
+
+        String hash = zipBundle.contentHash(artifacts);
+        assertThat(hash).hasSize(64);
+        assertThat(ZipBundle.builder()
+                        .compressionPolicy(CompressionPolicy.adaptive(0))
+                        .build()
+                        .contentHash(copies))
+                .isEqualTo(hash);
+        assertThat(zipBundle.contentHash(changed)).isNotEqualTo(hash);
+        assertThat(ZipBundle.builder()
+                        .checksumAlgorithms(EnumSet.allOf(ChecksumAlgorithm.class))
+                        .build()
+                        .contentHash(artifacts))
+                .isNotEqualTo(hash);
+    }
+
+    @Test
+    public void contentHashIgnoresTheSignatureContent() throws Exception {
+        byte[] jar = "content".getBytes(StandardCharsets.UTF_8);
+        List<Artifact> signed = Arrays.asList(
+                artifact("com.example:demo:jar:1.0.0", jar),
+                artifact("com.example:demo:jar.asc:1.0.0", "signature-1".getBytes(StandardCharsets.UTF_8)));
+        List<Artifact> resigned = Arrays.asList(
+                artifact("com.example:demo:jar:1.0.0", jar),
+                artifact("com.example:demo:jar.asc:1.0.0", "signature-2".getBytes(StandardCharsets.UTF_8)));
+        List<Artifact> unsigned = Collections.singletonList(artifact("com.example:demo:jar:1.0.0", jar));
+        ZipBundle zipBundle = ZipBundle.builder().build();
+
+        String hash = zipBundle.contentHash(signed);
+        assertThat(zipBundle.contentHash(resigned)).isEqualTo(hash);
+        assertThat(zipBundle.contentHash(unsigned)).isNotEqualTo(hash);
+    }
+
+    @Test
+    public void parallelChecksumsMatchSequentialChecksums() throws Exception {
+        List<Artifact> artifacts = createArtifacts();
+        Path sequentialBundle = workDirectory.resolve("sequential.zip");
+        Path parallelBundle = workDirectory.resolve("parallel.zip");
+
+        ZipBundle.builder()
+                .checksumAlgorithms(EnumSet.allOf(ChecksumAlgorithm.class))
+                .build()
+                .install(artifacts, sequentialBundle);
+        ZipBundle.builder()
+                .checksumAlgorithms(EnumSet.allOf(ChecksumAlgorithm.class))
+                .checksumParallelism(8)
+                .build()
+                .install(artifacts, parallelBundle);
+
+        Map<String, String> sequential = readBundle(sequentialBundle);
+        assertThat(sequential)
+                .hasSize(20 * 16)
+                .containsKeys(
+                        "com/example/demo-0/1.0.0/demo-0-1.0.0.jar.md5",
+                        "com/example/demo-0/1.0.0/demo-0-1.0.0.pom.sha512")
+                .doesNotContainKeys("com/example/demo-0/1.0.0/demo-0-1.0.0.jar.asc.md5");
+        assertThat(readBundle(parallelBundle)).containsExactlyEntriesOf(sequential);
+    }
+
+    @Test
+    public void artifactWithoutFileFails() {
+        Artifact artifact = new DefaultArtifact("com.example:demo:jar:1.0.0");
+        assertThatThrownBy(() -> ZipBundle.builder()
+                        .build()
+                        .install(Collections.singletonList(artifact), workDirectory.resolve("bundle.zip")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("com.example:demo:jar:1.0.0");
+    }
+
+    @Test
+    public void artifactsWithTheSameLayoutPathFail() throws Exception {
+        Path first = Files.write(workDirectory.resolve("first.jar"), new byte[] {1});
+        Path second = Files.write(workDirectory.resolve("second.jar"), new byte[] {2});
+        List<Artifact> artifacts = Arrays.asList(
+                new DefaultArtifact("com.example:demo:jar:1.0.0").setFile(first.toFile()),
+                new DefaultArtifact("com.example:demo:jar:1.0.0").setFile(second.toFile()));
+        ZipBundle zipBundle = ZipBundle.builder().build();
+
+        assertThatThrownBy(() -> zipBundle.install(artifacts, workDirectory.resolve("bundle.zip")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("com.example:demo:jar:1.0.0 and com.example:demo:jar:1.0.0")
+                .hasMessageContaining("com/example/demo/1.0.0/demo-1.0.0.jar");
+        assertThatThrownBy(() -> zipBundle.contentHash(artifacts))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("com/example/demo/1.0.0/demo-1.0.0.jar");
+    }
+
+    @Test
+    public void pipedBundleMatchesBundleFile() throws Exception {
+        List<Artifact> artifacts = createArtifacts();
+        ZipBundle zipBundle = ZipBundle.builder().checksumParallelism(4).build();
+        Path bundle = workDirectory.resolve("bundle.zip");
+        Path streamedBundle = workDirectory.resolve("streamed.zip");
+        zipBundle.install(artifacts, bundle);
+
+        try (PipedBundleInputStream inputStream = PipedBundleInputStream.open(zipBundle, artifacts)) {
+            Files.copy(inputStream, streamedBundle);
+            assertThat(inputStream.getSize()).isEqualTo(Files.size(streamedBundle));
+        }
+        assertThat(readBundle(streamedBundle)).containsExactlyEntriesOf(readBundle(bundle));
+    }
+
+    @Test
+    public void pipedBundleFailsWhenWriterFails() throws Exception {
+        List<Artifact> artifacts = new ArrayList<>(createArtifacts());
+        artifacts.add(new DefaultArtifact("com.example:missing:jar:1.0.0"));
+        try (PipedBundleInputStream inputStream =
+                PipedBundleInputStream.open(ZipBundle.builder().build(), artifacts)) {
+            assertThatThrownBy(() -> IOUtils.consume(inputStream))
+                    .isInstanceOf(IOException.class)
+                    .hasMessage("Failed to write the bundle")
+                    .hasRootCauseMessage("Artifact com.example:missing:jar:1.0.0 has no file to bundle");
+        }
+    }
+}
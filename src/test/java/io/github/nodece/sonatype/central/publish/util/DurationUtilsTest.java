@@ -0,0 +1,27 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.testng.annotations.Test;
+
+public class DurationUtilsTest {
+
+    @Test
+    public void parseDuration() {
+        assertThat(DurationUtils.parseDuration("30")).isEqualTo(Duration.ofSeconds(30));
+        assertThat(DurationUtils.parseDuration("500ms")).isEqualTo(Duration.ofMillis(500));
+        assertThat(DurationUtils.parseDuration("30s")).isEqualTo(Duration.ofSeconds(30));
+        assertThat(DurationUtils.parseDuration("1.5 m")).isEqualTo(Duration.ofSeconds(90));
+        assertThat(DurationUtils.parseDuration("2H")).isEqualTo(Duration.ofHours(2));
+        assertThat(DurationUtils.parseDuration("1d")).isEqualTo(Duration.ofDays(1));
+        assertThat(DurationUtils.parseDuration("PT1H30M")).isEqualTo(Duration.ofMinutes(90));
+        assertThatThrownBy(() -> DurationUtils.parseDuration("soon")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> DurationUtils.parseDuration("P1X")).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.NullOutputStream;
+import org.testng.annotations.Test;
+
+public class RateLimiterTest {
+
+    private static long elapsedMillis(long start) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @Test
+    public void burstIsNotThrottled() throws Exception {
+        RateLimiter rateLimiter = new RateLimiter(1024, 64 * 1024);
+        long start = System.nanoTime();
+        rateLimiter.acquire(64 * 1024);
+        long burstMillis = elapsedMillis(start);
+
+        // the bucket is empty, the next bytes wait for the refill
+        start = System.nanoTime();
+        rateLimiter.acquire(256);
+        assertThat(elapsedMillis(start)).isBetween(200L, 400L);
+        assertThat(burstMillis).isLessThan(100);
+    }
+
+    @Test
+    public void concurrentTransfersShareTheRate() throws Exception {
+        long bytesPerSecond = 4 * 1024 * 1024;
+        RateLimiter rateLimiter = new RateLimiter(bytesPerSecond, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> {
+                    try (InputStream inputStream = rateLimiter.limit(new ByteArrayInputStream(new byte[2 << 20]))) {
+                        IOUtils.copy(inputStream, NullOutputStream.INSTANCE, 16 * 1024);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            // 8 MB at 4 MB/s
+            assertThat(elapsedMillis(start)).isBetween(1900L, 2400L);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+/*
+ * SPDX-FileCopyrightText: Copyright 2025 the original author or authors.
+ * SPDX-License-Identifier: Apache-2.0
+ */
+package io.github.nodece.sonatype.central.publish.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.testng.annotations.Test;
+
+public class SizeUtilsTest {
+
+    @Test
+    public void parseSize() {
+        assertThat(SizeUtils.parseSize("512")).isEqualTo(512);
+        assertThat(SizeUtils.parseSize("64KB")).isEqualTo(64 * 1024);
+        assertThat(SizeUtils.parseSize("10 mb")).isEqualTo(10 * 1024 * 1024);
+        assertThat(SizeUtils.parseSize("1.5G")).isEqualTo(3L * 512 * 1024 * 1024);
+        assertThat(SizeUtils.parseSize("2B")).isEqualTo(2);
+        assertThatThrownBy(() -> SizeUtils.parseSize("ten MB")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> SizeUtils.parseSize("0.1B")).isInstanceOf(IllegalArgumentException.class);
+    }
+}